@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.settings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Counts bytes allocated by the live threads of the VM. Uses the HotSpot
+ * specific com.sun.management.ThreadMXBean, looked up reflectively so
+ * that the benchmark also runs on VMs without it.
+ *
+ */
+class AllocationCounter {
+
+	private final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+	private final Method getAllocatedBytes;
+
+	AllocationCounter() {
+		Method method = null;
+		try {
+			Class<?> hotspotBean = Class.forName("com.sun.management.ThreadMXBean"); //$NON-NLS-1$
+			if (hotspotBean.isInstance(this.bean)) {
+				method = hotspotBean.getMethod("getThreadAllocatedBytes", long[].class); //$NON-NLS-1$
+			}
+		} catch (Exception e) {
+			//not a HotSpot VM
+		}
+		this.getAllocatedBytes = method;
+	}
+
+	/**
+	 * Check if allocations can be counted.
+	 *
+	 * @return True if supported.
+	 */
+	boolean isSupported() {
+		return this.getAllocatedBytes != null;
+	}
+
+	/**
+	 * Get the sum of the bytes allocated by the live threads. Allocations
+	 * of threads that have ended are not included, so worker threads
+	 * should be pooled for the difference of two calls to be accurate.
+	 *
+	 * @return Allocated bytes or -1 if not supported.
+	 */
+	long getAllocatedBytes() {
+		if (this.getAllocatedBytes == null) {
+			return -1;
+		}
+		try {
+			long[] bytes = (long[]) this.getAllocatedBytes.invoke(this.bean, this.bean.getAllThreadIds());
+			long sum = 0;
+			for (long b : bytes) {
+				//-1 for threads that ended meanwhile
+				if (b > 0) {
+					sum += b;
+				}
+			}
+			return sum;
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+}
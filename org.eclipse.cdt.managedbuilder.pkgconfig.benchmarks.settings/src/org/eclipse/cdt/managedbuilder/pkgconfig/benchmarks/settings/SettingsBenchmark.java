@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.settings;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceConstants;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+import org.eclipse.cdt.managedbuilder.pkgconfig.settings.PkgConfigExternalSettingProvider;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ProcessExecutor;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ResolutionCache;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Headless application that measures how refreshing the external settings
+ * of the pkg-config setting provider scales with the number of projects.
+ *
+ * The workspace gets copies of a template project with packages of a corpus
+ * made by CorpusGenerator of the benchmarks module checked. The pkg-config
+ * preferences point to the corpus for the duration of the run. Each refresh
+ * calls PkgConfigExternalSettingProvider.getSettings for the active
+ * configuration of every project and reports wall time, the number of
+ * pkg-config processes started and the bytes allocated.
+ *
+ * Arguments:
+ * <pre>
+ * -corpus &lt;dir&gt;       corpus written by CorpusGenerator (required)
+ * -template &lt;name&gt;    open managed build project to copy (required)
+ * -projects &lt;n&gt;       number of projects, default 10
+ * -packages &lt;n&gt;       checked packages in each project, default 3
+ * -refreshes &lt;n&gt;      number of refreshes, default 5
+ * -resolver builtin|pkg-config   default pkg-config
+ * -cold                clear the caches before every refresh, not only the first
+ * -keep                keep the projects
+ * </pre>
+ *
+ * For example:
+ * <pre>
+ * eclipse -nosplash -data &lt;workspace&gt;
+ *   -application org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.settings.application
+ *   -corpus /tmp/corpus -template hello -projects 300
+ * </pre>
+ * The stand-in pkg-config is a shell script, so the pkg-config resolver
+ * can only be measured on Unix-like systems.
+ *
+ */
+public class SettingsBenchmark implements IApplication {
+
+	static final String PLUGIN_ID = "org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.settings"; //$NON-NLS-1$
+	private static final String RESOLVER_BUILTIN = "builtin"; //$NON-NLS-1$
+	private static final String[] PREFERENCES = {
+		PreferenceConstants.PKG_CONFIG_PATH,
+		PreferenceConstants.PKG_CONFIG_LIBDIR,
+		PreferenceConstants.USE_BUILTIN_RESOLVER,
+	};
+
+	private File corpus;
+	private String template;
+	private int projectCount = 10;
+	private int checkedCount = 3;
+	private int refreshes = 5;
+	private boolean builtin;
+	private boolean cold;
+	private boolean keep;
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		if (!parseArguments(args != null ? args : new String[0])) {
+			System.err.println("Usage: -corpus <dir> -template <project> [-projects 10] [-packages 3]" //$NON-NLS-1$
+					+ " [-refreshes 5] [-resolver builtin|pkg-config] [-cold] [-keep]"); //$NON-NLS-1$
+			return Integer.valueOf(1);
+		}
+		List<String> roots = readLines(new File(this.corpus, "roots.txt")); //$NON-NLS-1$
+		Map<String, String> oldPreferences = configure();
+		SyntheticProjects projects = new SyntheticProjects();
+		try {
+			projects.create(this.template, this.projectCount, roots, this.checkedCount);
+			run(projects.getProjects());
+		} finally {
+			if (!this.keep) {
+				projects.delete();
+			}
+			restore(oldPreferences);
+		}
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		//runs to completion
+	}
+
+	private boolean parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("-cold".equals(arg)) { //$NON-NLS-1$
+				this.cold = true;
+			} else if ("-keep".equals(arg)) { //$NON-NLS-1$
+				this.keep = true;
+			} else if (i + 1 < args.length) {
+				String value = args[++i];
+				if ("-corpus".equals(arg)) { //$NON-NLS-1$
+					this.corpus = new File(value);
+				} else if ("-template".equals(arg)) { //$NON-NLS-1$
+					this.template = value;
+				} else if ("-projects".equals(arg)) { //$NON-NLS-1$
+					this.projectCount = Integer.parseInt(value);
+				} else if ("-packages".equals(arg)) { //$NON-NLS-1$
+					this.checkedCount = Integer.parseInt(value);
+				} else if ("-refreshes".equals(arg)) { //$NON-NLS-1$
+					this.refreshes = Integer.parseInt(value);
+				} else if ("-resolver".equals(arg)) { //$NON-NLS-1$
+					this.builtin = RESOLVER_BUILTIN.equals(value);
+				}
+				//other arguments are the launcher's
+			}
+		}
+		return this.corpus != null && this.template != null;
+	}
+
+	/**
+	 * Point the pkg-config preferences to the corpus. The stand-in
+	 * pkg-config is found in the corpus' PKG_CONFIG_PATH directory.
+	 *
+	 * @return Previous values, null for values that were not set.
+	 */
+	private Map<String, String> configure() {
+		IEclipsePreferences prefs = PreferenceStore.getPreferenceStore();
+		Map<String, String> old = new HashMap<String, String>();
+		for (String key : PREFERENCES) {
+			old.put(key, prefs.get(key, null));
+		}
+		String pcDir = new File(this.corpus, "pkgconfig").getAbsolutePath(); //$NON-NLS-1$
+		PreferenceStore.setPkgConfigPath(pcDir);
+		PreferenceStore.setPkgConfigLibDir(pcDir);
+		prefs.putBoolean(PreferenceConstants.USE_BUILTIN_RESOLVER, this.builtin);
+		return old;
+	}
+
+	private static void restore(Map<String, String> old) {
+		IEclipsePreferences prefs = PreferenceStore.getPreferenceStore();
+		for (Map.Entry<String, String> e : old.entrySet()) {
+			if (e.getValue() == null) {
+				prefs.remove(e.getKey());
+			} else {
+				prefs.put(e.getKey(), e.getValue());
+			}
+		}
+	}
+
+	private void run(List<IProject> projects) {
+		PkgConfigExternalSettingProvider provider = new PkgConfigExternalSettingProvider();
+		AllocationCounter allocations = new AllocationCounter();
+		System.out.println(String.format(Locale.ENGLISH,
+				"%d projects, %d checked packages each, %s resolver, %s caches", //$NON-NLS-1$
+				Integer.valueOf(projects.size()), Integer.valueOf(this.checkedCount),
+				this.builtin ? "built-in" : "pkg-config", this.cold ? "cold" : "warm")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		System.out.println("refresh  wall [ms]  per project [ms]  spawns  allocated [MB]"); //$NON-NLS-1$
+		for (int r = 1; r <= this.refreshes; r++) {
+			//setting up the projects already resolved the packages
+			if (r == 1 || this.cold) {
+				PkgConfigUtil.clearCache();
+				ResolutionCache.clear();
+			}
+			long spawns = ProcessExecutor.getStartedProcessCount();
+			long allocated = allocations.getAllocatedBytes();
+			long start = System.nanoTime();
+			for (IProject project : projects) {
+				ICProjectDescription desc = CoreModel.getDefault().getProjectDescription(project, false);
+				ICConfigurationDescription cfg = desc != null ? desc.getActiveConfiguration() : null;
+				provider.getSettings(project, cfg);
+			}
+			double wall = (System.nanoTime() - start) / 1e6;
+			spawns = ProcessExecutor.getStartedProcessCount() - spawns;
+			double mb = allocations.isSupported()
+					? (allocations.getAllocatedBytes() - allocated) / (1024.0 * 1024.0) : Double.NaN;
+			System.out.println(String.format(Locale.ENGLISH, "%7d  %9.1f  %16.2f  %6d  %14.1f", //$NON-NLS-1$
+					Integer.valueOf(r), Double.valueOf(wall), Double.valueOf(wall / projects.size()),
+					Long.valueOf(spawns), Double.valueOf(mb)));
+		}
+	}
+
+	private static List<String> readLines(File file) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8")); //$NON-NLS-1$
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.length() > 0) {
+					lines.add(line);
+				}
+			}
+		} finally {
+			in.close();
+		}
+		return lines;
+	}
+
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.core.settings.model.ICStorageElement;
+import org.eclipse.cdt.managedbuilder.pkgconfig.settings.PkgConfigExternalSettingProvider;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Creates copies of a managed build project with packages of the
+ * synthetic corpus checked in every configuration.
+ *
+ */
+class SyntheticProjects {
+
+	private static final String PROJECT_PREFIX = "pkgconfig-bench-"; //$NON-NLS-1$
+	//storage of the checked packages, see PkgConfigPropertyTab
+	private static final String PACKAGES = "packages"; //$NON-NLS-1$
+
+	private final List<IProject> projects = new ArrayList<IProject>();
+
+	/**
+	 * Create copies of the template project.
+	 *
+	 * @param templateName Name of an open managed build project in the workspace.
+	 * @param count Number of projects.
+	 * @param roots Packages to choose the checked packages from.
+	 * @param checked Number of packages checked in each project.
+	 * @throws CoreException
+	 */
+	void create(String templateName, int count, List<String> roots, int checked) throws CoreException {
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		IProject template = root.getProject(templateName);
+		if (!template.isOpen()) {
+			throw new CoreException(new Status(IStatus.ERROR, SettingsBenchmark.PLUGIN_ID,
+					"Template project " + templateName + " is not open")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		for (int i = 0; i < count; i++) {
+			IProject project = root.getProject(PROJECT_PREFIX + i);
+			if (project.exists()) {
+				project.delete(true, true, null);
+			}
+			IProjectDescription desc = template.getDescription();
+			desc.setName(project.getName());
+			desc.setLocationURI(null);
+			template.copy(desc, IResource.FORCE, null);
+			this.projects.add(project);
+			//the same projects are created on every run
+			setCheckedPackages(project, choose(roots, checked, new Random(i)));
+		}
+	}
+
+	private static String[] choose(List<String> roots, int count, Random random) {
+		List<String> shuffled = new ArrayList<String>(roots);
+		Collections.shuffle(shuffled, random);
+		List<String> chosen = shuffled.subList(0, Math.min(count, shuffled.size()));
+		return chosen.toArray(new String[chosen.size()]);
+	}
+
+	/**
+	 * Check packages in every configuration of a project the way the
+	 * property tab does and enable the pkg-config setting provider.
+	 *
+	 * @param project
+	 * @param pkgs
+	 * @throws CoreException
+	 */
+	private static void setCheckedPackages(IProject project, String[] pkgs) throws CoreException {
+		ICProjectDescription desc = CoreModel.getDefault().getProjectDescription(project, true);
+		if (desc == null) {
+			throw new CoreException(new Status(IStatus.ERROR, SettingsBenchmark.PLUGIN_ID,
+					project.getName() + " is not a C/C++ project")); //$NON-NLS-1$
+		}
+		for (ICConfigurationDescription cfg : desc.getConfigurations()) {
+			ICStorageElement storage = cfg.getStorage(PACKAGES, true);
+			for (String name : storage.getAttributeNames()) {
+				storage.removeAttribute(name);
+			}
+			for (String pkg : pkgs) {
+				storage.setAttribute(pkg.replace("+", "plus"), "true"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			Set<String> providers = new LinkedHashSet<String>(
+					Arrays.asList(cfg.getExternalSettingsProviderIds()));
+			providers.add(PkgConfigExternalSettingProvider.ID);
+			cfg.setExternalSettingsProviderIds(providers.toArray(new String[providers.size()]));
+		}
+		CoreModel.getDefault().setProjectDescription(project, desc);
+	}
+
+	/**
+	 * Get the created projects.
+	 *
+	 * @return Projects.
+	 */
+	List<IProject> getProjects() {
+		return this.projects;
+	}
+
+	/**
+	 * Delete the created projects and their contents.
+	 */
+	void delete() {
+		for (IProject project : this.projects) {
+			try {
+				project.delete(true, true, null);
+			} catch (CoreException e) {
+				System.err.println("Deleting " + project.getName() + " failed: " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		this.projects.clear();
+	}
+
+}
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a synthetic pkg-config corpus for the settings refresh benchmark:
+ * .pc files in levels where every package above the lowest level requires
+ * packages of the level below, and a stand-in pkg-config.
+ *
+ * The corpus directory gets
+ * <ul>
+ * <li>pkgconfig/*.pc - the packages</li>
+ * <li>pkgconfig/pkg-config - a shell script that answers from precomputed
+ * outputs after sleeping for the given latency. It is found by the plug-in
+ * when pkgconfig/ is set as PKG_CONFIG_PATH in the preferences.</li>
+ * <li>out/ - outputs of the script</li>
+ * <li>roots.txt - packages of the highest level, one per line</li>
+ * </ul>
+ *
+ * Usage: CorpusGenerator -dir &lt;corpus&gt; [-packages 1000] [-depth 3]
+ * [-fanout 3] [-latency 20] [-seed 1]
+ *
+ */
+public class CorpusGenerator {
+
+	private static final String PC_DIR = "pkgconfig"; //$NON-NLS-1$
+	private static final String OUT_DIR = "out"; //$NON-NLS-1$
+	private static final String ROOTS = "roots.txt"; //$NON-NLS-1$
+	private static final String SCRIPT = "pkg-config"; //$NON-NLS-1$
+
+	private final int packageCount;
+	private final int depth;
+	private final int fanout;
+	private final long seed;
+
+	//package names of each level, level 0 has no dependencies
+	private final List<List<String>> levels = new ArrayList<List<String>>();
+	private final List<String> names = new ArrayList<String>();
+	private final List<List<String>> requires = new ArrayList<List<String>>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param packageCount Number of packages.
+	 * @param depth Length of the longest Requires chain.
+	 * @param fanout Number of packages each package above level 0 requires.
+	 * @param seed Seed of the random dependencies.
+	 */
+	public CorpusGenerator(int packageCount, int depth, int fanout, long seed) {
+		if (packageCount < depth + 1) {
+			throw new IllegalArgumentException("Need at least one package per level"); //$NON-NLS-1$
+		}
+		this.packageCount = packageCount;
+		this.depth = depth;
+		this.fanout = fanout;
+		this.seed = seed;
+		createPackages();
+	}
+
+	private void createPackages() {
+		Random random = new Random(this.seed);
+		int perLevel = this.packageCount / (this.depth + 1);
+		for (int level = 0; level <= this.depth; level++) {
+			//the lowest level gets the remainder
+			int count = level == 0 ? this.packageCount - perLevel * this.depth : perLevel;
+			List<String> pkgs = new ArrayList<String>(count);
+			for (int i = 0; i < count; i++) {
+				String name = "synth" + level + '-' + i; //$NON-NLS-1$
+				List<String> deps = new ArrayList<String>();
+				if (level > 0) {
+					List<String> below = new ArrayList<String>(this.levels.get(level - 1));
+					Collections.shuffle(below, random);
+					deps.addAll(below.subList(0, Math.min(this.fanout, below.size())));
+				}
+				pkgs.add(name);
+				this.names.add(name);
+				this.requires.add(deps);
+			}
+			this.levels.add(pkgs);
+		}
+	}
+
+	/**
+	 * Get the packages nothing depends on.
+	 *
+	 * @return Package names.
+	 */
+	public List<String> getRoots() {
+		return this.levels.get(this.depth);
+	}
+
+	/**
+	 * Write the corpus.
+	 *
+	 * @param dir Corpus directory, created if missing.
+	 * @param latency Milliseconds the stand-in pkg-config sleeps before answering.
+	 * @throws IOException
+	 */
+	public void write(File dir, int latency) throws IOException {
+		File pcDir = new File(dir, PC_DIR);
+		File outDir = new File(dir, OUT_DIR);
+		mkdirs(pcDir);
+		mkdirs(outDir);
+		StringBuilder listAll = new StringBuilder();
+		for (int i = 0; i < this.names.size(); i++) {
+			String name = this.names.get(i);
+			write(new File(pcDir, name + ".pc"), formatPcFile(name, this.requires.get(i))); //$NON-NLS-1$
+			StringBuilder cflags = new StringBuilder();
+			StringBuilder libPaths = new StringBuilder();
+			StringBuilder libs = new StringBuilder();
+			for (String pkg : getClosure(i)) {
+				cflags.append("-I/opt/synth/").append(pkg).append("/include -DHAVE_") //$NON-NLS-1$ //$NON-NLS-2$
+						.append(toMacroName(pkg)).append("=1 "); //$NON-NLS-1$
+				libPaths.append("-L/opt/synth/").append(pkg).append("/lib "); //$NON-NLS-1$ //$NON-NLS-2$
+				libs.append("-l").append(pkg).append(' '); //$NON-NLS-1$
+			}
+			write(new File(outDir, name + ".cflags"), cflags.toString()); //$NON-NLS-1$
+			write(new File(outDir, name + ".libsL"), libPaths.toString()); //$NON-NLS-1$
+			write(new File(outDir, name + ".libsl"), libs.toString()); //$NON-NLS-1$
+			write(new File(outDir, name + ".libs"), libPaths.toString() + libs); //$NON-NLS-1$
+			listAll.append(name).append("  ").append(name) //$NON-NLS-1$
+					.append(" - Synthetic package\n"); //$NON-NLS-1$
+		}
+		write(new File(outDir, "list-all"), listAll.toString()); //$NON-NLS-1$
+		StringBuilder roots = new StringBuilder();
+		for (String root : getRoots()) {
+			roots.append(root).append('\n');
+		}
+		write(new File(dir, ROOTS), roots.toString());
+		File script = new File(pcDir, SCRIPT);
+		write(script, formatScript(pcDir, outDir, latency));
+		if (!script.setExecutable(true)) {
+			throw new IOException("Cannot make " + script + " executable"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Get a package followed by the packages it requires directly
+	 * or indirectly, each once.
+	 *
+	 * @param index
+	 * @return Package names.
+	 */
+	private Set<String> getClosure(int index) {
+		Set<String> closure = new LinkedHashSet<String>();
+		collect(index, closure);
+		return closure;
+	}
+
+	private void collect(int index, Set<String> closure) {
+		if (closure.add(this.names.get(index))) {
+			for (String dep : this.requires.get(index)) {
+				collect(this.names.indexOf(dep), closure);
+			}
+		}
+	}
+
+	private static String formatPcFile(String name, List<String> deps) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("prefix=/opt/synth/").append(name).append('\n'); //$NON-NLS-1$
+		sb.append("includedir=${prefix}/include\n"); //$NON-NLS-1$
+		sb.append("libdir=${prefix}/lib\n\n"); //$NON-NLS-1$
+		sb.append("Name: ").append(name).append('\n'); //$NON-NLS-1$
+		sb.append("Description: Synthetic package\n"); //$NON-NLS-1$
+		sb.append("Version: 1.0\n"); //$NON-NLS-1$
+		if (!deps.isEmpty()) {
+			sb.append("Requires: "); //$NON-NLS-1$
+			for (int i = 0; i < deps.size(); i++) {
+				sb.append(i > 0 ? ", " : "").append(deps.get(i)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			sb.append('\n');
+		}
+		sb.append("Cflags: -I${includedir} -DHAVE_").append(toMacroName(name)).append("=1\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append("Libs: -L${libdir} -l").append(name).append('\n'); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+	private static String toMacroName(String pkg) {
+		return pkg.replace('-', '_').toUpperCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Format a shell script that understands the options the plug-in
+	 * passes to pkg-config.
+	 */
+	private static String formatScript(File pcDir, File outDir, int latency) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("#!/bin/sh\n"); //$NON-NLS-1$
+		sb.append("# stand-in pkg-config generated by CorpusGenerator\n"); //$NON-NLS-1$
+		if (latency > 0) {
+			sb.append("sleep ").append(String.format(Locale.ENGLISH, "%.3f", //$NON-NLS-1$ //$NON-NLS-2$
+					Double.valueOf(latency / 1000.0))).append('\n');
+		}
+		sb.append("out='").append(outDir.getAbsolutePath()).append("'\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append("modes=\npkgs=\n"); //$NON-NLS-1$
+		sb.append("while [ $# -gt 0 ]; do\n"); //$NON-NLS-1$
+		sb.append("  case \"$1\" in\n"); //$NON-NLS-1$
+		sb.append("    --cflags) modes=\"$modes cflags\";;\n"); //$NON-NLS-1$
+		sb.append("    --libs) modes=\"$modes libs\";;\n"); //$NON-NLS-1$
+		sb.append("    --libs-only-L) modes=\"$modes libsL\";;\n"); //$NON-NLS-1$
+		sb.append("    --libs-only-l) modes=\"$modes libsl\";;\n"); //$NON-NLS-1$
+		sb.append("    --list-all) cat \"$out/list-all\"; exit 0;;\n"); //$NON-NLS-1$
+		sb.append("    --variable) echo '").append(pcDir.getAbsolutePath()).append("'; exit 0;;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append("    -*) ;;\n"); //$NON-NLS-1$
+		sb.append("    *) pkgs=\"$pkgs $1\";;\n"); //$NON-NLS-1$
+		sb.append("  esac\n"); //$NON-NLS-1$
+		sb.append("  shift\n"); //$NON-NLS-1$
+		sb.append("done\n"); //$NON-NLS-1$
+		sb.append("line=\n"); //$NON-NLS-1$
+		sb.append("for p in $pkgs; do\n"); //$NON-NLS-1$
+		sb.append("  if [ ! -f \"$out/$p.cflags\" ]; then\n"); //$NON-NLS-1$
+		sb.append("    echo \"Package $p was not found in the pkg-config search path.\" >&2\n"); //$NON-NLS-1$
+		sb.append("    exit 1\n"); //$NON-NLS-1$
+		sb.append("  fi\n"); //$NON-NLS-1$
+		sb.append("  for m in $modes; do line=\"$line$(cat \"$out/$p.$m\")\"; done\n"); //$NON-NLS-1$
+		sb.append("done\n"); //$NON-NLS-1$
+		sb.append("echo \"$line\"\n"); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+	private static void mkdirs(File dir) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Cannot create " + dir); //$NON-NLS-1$
+		}
+	}
+
+	private static void write(File file, String content) throws IOException {
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8"); //$NON-NLS-1$
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		File dir = null;
+		int packages = 1000;
+		int depth = 3;
+		int fanout = 3;
+		int latency = 20;
+		long seed = 1;
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			if ("-dir".equals(args[i])) { //$NON-NLS-1$
+				dir = new File(value);
+			} else if ("-packages".equals(args[i])) { //$NON-NLS-1$
+				packages = Integer.parseInt(value);
+			} else if ("-depth".equals(args[i])) { //$NON-NLS-1$
+				depth = Integer.parseInt(value);
+			} else if ("-fanout".equals(args[i])) { //$NON-NLS-1$
+				fanout = Integer.parseInt(value);
+			} else if ("-latency".equals(args[i])) { //$NON-NLS-1$
+				latency = Integer.parseInt(value);
+			} else if ("-seed".equals(args[i])) { //$NON-NLS-1$
+				seed = Long.parseLong(value);
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]); //$NON-NLS-1$
+			}
+		}
+		if (dir == null) {
+			System.err.println("Usage: CorpusGenerator -dir <corpus> [-packages 1000] [-depth 3]" //$NON-NLS-1$
+					+ " [-fanout 3] [-latency 20] [-seed 1]"); //$NON-NLS-1$
+			System.exit(2);
+		}
+		CorpusGenerator generator = new CorpusGenerator(packages, depth, fanout, seed);
+		generator.write(dir, latency);
+		System.out.println("Wrote " + packages + " packages, " + generator.getRoots().size() //$NON-NLS-1$ //$NON-NLS-2$
+				+ " roots to " + dir); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.SampleOutputs.Library;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.FlagNormalizer;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigFlags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merging the flags of the checked packages of a project, the work done
+ * by PkgConfigUtil.mergeFlags for every getSettings call. GTK+ and
+ * GStreamer share the GLib flags, so merging them removes duplicates.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+	//checked packages of the project
+	@Param({"GTK", "GTK,GSTREAMER", "GTK,GSTREAMER,QT"})
+	String libraries;
+
+	private List<PkgConfigFlags> flags;
+	private PkgConfigFlags concatenated;
+
+	@Setup
+	public void setUp() {
+		this.flags = new ArrayList<PkgConfigFlags>();
+		for (String library : this.libraries.split(",")) { //$NON-NLS-1$
+			this.flags.add(Parser.parseFlags(Library.valueOf(library).getFlags()));
+		}
+		this.concatenated = PkgConfigFlags.concat(this.flags);
+	}
+
+	@Benchmark
+	public PkgConfigFlags concat() {
+		return PkgConfigFlags.concat(this.flags);
+	}
+
+	@Benchmark
+	public PkgConfigFlags normalize() {
+		return FlagNormalizer.normalize(this.concatenated);
+	}
+
+	@Benchmark
+	public PkgConfigFlags merge() {
+		return PkgConfigFlags.merge(this.flags);
+	}
+
+}
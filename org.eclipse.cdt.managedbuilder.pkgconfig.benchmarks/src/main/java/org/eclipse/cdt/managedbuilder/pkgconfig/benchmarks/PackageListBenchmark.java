@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.properties.DataModel;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageEntry;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageList;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building the package list of the property tab: parsing of
+ * "pkg-config --list-all" and the sorting and indexing done by
+ * DataModelProvider when the package index is rebuilt.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageListBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	int size;
+
+	private List<PackageEntry> entries;
+	private ArrayList<String> listAllOutput;
+
+	@Setup
+	public void setUp() {
+		this.entries = SampleOutputs.createPackages(this.size);
+		this.listAllOutput = SampleOutputs.createListAllOutput(this.entries);
+	}
+
+	@Benchmark
+	public ArrayList<String> parsePackageList() {
+		return Parser.parsePackageList(this.listAllOutput);
+	}
+
+	@Benchmark
+	public ArrayList<String> parseDescription() {
+		return Parser.parseDescription(this.listAllOutput);
+	}
+
+	@Benchmark
+	public List<PackageEntry> sort() {
+		return PackageEntry.sortByName(this.entries);
+	}
+
+	/**
+	 * Same calls as DataModelProvider makes when the package index is
+	 * out of date, except that the index file is not written.
+	 *
+	 * @return Rows of the property tab.
+	 */
+	@Benchmark
+	public List<DataModel> sortAndIndex() {
+		return DataModel.createRows(PackageList.create(this.entries));
+	}
+
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks.SampleOutputs.Library;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigFlags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of pkg-config's flag outputs.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({"GTK", "GSTREAMER", "QT"})
+	Library library;
+
+	@Benchmark
+	public String[] parseCflagOptions() {
+		return Parser.parseCflagOptions(this.library.getCflags());
+	}
+
+	@Benchmark
+	public String[] parseIncPaths() {
+		return Parser.parseIncPaths(this.library.getCflags());
+	}
+
+	@Benchmark
+	public String[] parseLibPaths2() {
+		return Parser.parseLibPaths2(this.library.getLibPaths());
+	}
+
+	@Benchmark
+	public String[] parseLibs2() {
+		return Parser.parseLibs2(this.library.getLibs());
+	}
+
+	@Benchmark
+	public PkgConfigFlags parseFlags() {
+		return Parser.parseFlags(this.library.getFlags());
+	}
+
+}
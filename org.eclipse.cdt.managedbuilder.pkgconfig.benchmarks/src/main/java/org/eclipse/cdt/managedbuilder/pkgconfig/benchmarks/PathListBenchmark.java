@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.Separators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adding paths to a tool option's path list, the work done by
+ * PathToToolOption.addNewPathToExistingPathList.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathListBenchmark {
+
+	//number of paths already in the option
+	@Param({"0", "10", "100"})
+	int existing;
+
+	private String[] existingPaths;
+	private String newPath;
+
+	@Setup
+	public void setUp() {
+		this.existingPaths = new String[this.existing];
+		for (int i = 0; i < this.existing; i++) {
+			this.existingPaths[i] = "/usr/include/lib" + i + "-2.0"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		String sep = Separators.getPathSeparator();
+		this.newPath = "/usr/include/gtk-3.0" + sep + "/usr/include/glib-2.0" //$NON-NLS-1$ //$NON-NLS-2$
+				+ sep + "/usr/lib/x86_64-linux-gnu/glib-2.0/include"; //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public String[] addNewPathToExistingPathList() {
+		return Separators.appendPaths(this.existingPaths, this.newPath);
+	}
+
+}
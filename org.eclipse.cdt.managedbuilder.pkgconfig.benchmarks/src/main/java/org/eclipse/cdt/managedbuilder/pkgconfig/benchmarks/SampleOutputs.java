@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageEntry;
+
+/**
+ * pkg-config outputs of commonly used libraries as printed on
+ * a 64-bit Debian based distribution and generated package lists.
+ *
+ */
+public class SampleOutputs {
+
+	/**
+	 * Outputs of one library.
+	 *
+	 */
+	public enum Library {
+		GTK("gtk+-3.0", //$NON-NLS-1$
+				"-pthread -I/usr/include/gtk-3.0 -I/usr/include/at-spi2-atk/2.0 " //$NON-NLS-1$
+				+ "-I/usr/include/at-spi-2.0 -I/usr/include/dbus-1.0 " //$NON-NLS-1$
+				+ "-I/usr/lib/x86_64-linux-gnu/dbus-1.0/include -I/usr/include/gtk-3.0 " //$NON-NLS-1$
+				+ "-I/usr/include/gio-unix-2.0 -I/usr/include/cairo -I/usr/include/pango-1.0 " //$NON-NLS-1$
+				+ "-I/usr/include/fribidi -I/usr/include/harfbuzz -I/usr/include/atk-1.0 " //$NON-NLS-1$
+				+ "-I/usr/include/cairo -I/usr/include/pixman-1 -I/usr/include/uuid " //$NON-NLS-1$
+				+ "-I/usr/include/freetype2 -I/usr/include/libpng16 " //$NON-NLS-1$
+				+ "-I/usr/include/gdk-pixbuf-2.0 -I/usr/include/libmount -I/usr/include/blkid " //$NON-NLS-1$
+				+ "-I/usr/include/glib-2.0 -I/usr/lib/x86_64-linux-gnu/glib-2.0/include ", //$NON-NLS-1$
+				"", //$NON-NLS-1$
+				"-lgtk-3 -lgdk-3 -lz -lpangocairo-1.0 -lpango-1.0 -lharfbuzz -latk-1.0 " //$NON-NLS-1$
+				+ "-lcairo-gobject -lcairo -lgdk_pixbuf-2.0 -lgio-2.0 -lgobject-2.0 -lglib-2.0 "), //$NON-NLS-1$
+		GSTREAMER("gstreamer-video-1.0", //$NON-NLS-1$
+				"-pthread -I/opt/gstreamer/include/gstreamer-1.0 -I/usr/include/orc-0.4 " //$NON-NLS-1$
+				+ "-I/opt/gstreamer/include/gstreamer-1.0 -I/usr/include/glib-2.0 " //$NON-NLS-1$
+				+ "-I/usr/lib/x86_64-linux-gnu/glib-2.0/include ", //$NON-NLS-1$
+				"-L/opt/gstreamer/lib/x86_64-linux-gnu ", //$NON-NLS-1$
+				"-lgstvideo-1.0 -lgstbase-1.0 -lgstreamer-1.0 -lgobject-2.0 -lglib-2.0 "), //$NON-NLS-1$
+		QT("Qt5Widgets", //$NON-NLS-1$
+				"-DQT_WIDGETS_LIB -DQT_GUI_LIB -DQT_CORE_LIB -fPIC " //$NON-NLS-1$
+				+ "-I/usr/include/x86_64-linux-gnu/qt5/QtWidgets " //$NON-NLS-1$
+				+ "-I/usr/include/x86_64-linux-gnu/qt5 " //$NON-NLS-1$
+				+ "-I/usr/include/x86_64-linux-gnu/qt5/QtGui " //$NON-NLS-1$
+				+ "-I/usr/include/x86_64-linux-gnu/qt5/QtCore ", //$NON-NLS-1$
+				"-L/usr/lib/x86_64-linux-gnu ", //$NON-NLS-1$
+				"-lQt5Widgets -lQt5Gui -lQt5Core "); //$NON-NLS-1$
+
+		private final String pkg;
+		private final String cflags;
+		private final String libPaths;
+		private final String libs;
+
+		private Library(String pkg, String cflags, String libPaths, String libs) {
+			this.pkg = pkg;
+			this.cflags = cflags;
+			this.libPaths = libPaths;
+			this.libs = libs;
+		}
+
+		public String getPackage() {
+			return this.pkg;
+		}
+
+		/**
+		 * Output of "pkg-config --cflags".
+		 *
+		 * @return Output.
+		 */
+		public String getCflags() {
+			return this.cflags;
+		}
+
+		/**
+		 * Output of "pkg-config --libs-only-L".
+		 *
+		 * @return Output.
+		 */
+		public String getLibPaths() {
+			return this.libPaths;
+		}
+
+		/**
+		 * Output of "pkg-config --libs-only-l".
+		 *
+		 * @return Output.
+		 */
+		public String getLibs() {
+			return this.libs;
+		}
+
+		/**
+		 * Output of "pkg-config --cflags --libs".
+		 *
+		 * @return Output.
+		 */
+		public String getFlags() {
+			return this.cflags + this.libPaths + this.libs;
+		}
+	}
+
+	//name stems and descriptions the generated packages are made of
+	private static final String[][] STEMS = {
+		{"gtk+-", "GTK+ - GTK+ Graphical UI Library"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"glib-", "GLib - C Utility Library"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"gstreamer-", "GStreamer - Streaming media framework"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"Qt5", "Qt5 - Qt Unofficial Module"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"libxml-", "libXML - libXML library version2."}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"cairo-", "cairo - Multi-platform 2D graphics library"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"x", "X - X Library"}, //$NON-NLS-1$ //$NON-NLS-2$
+		{"Magick", "ImageMagick - ImageMagick - convert, edit, and compose images"}, //$NON-NLS-1$ //$NON-NLS-2$
+	};
+
+	/**
+	 * Generate packages with distinct names in random order.
+	 *
+	 * @param count
+	 * @return Packages.
+	 */
+	public static List<PackageEntry> createPackages(int count) {
+		Random random = new Random(count);
+		List<PackageEntry> entries = new ArrayList<PackageEntry>(count);
+		for (int i = 0; i < count; i++) {
+			String[] stem = STEMS[random.nextInt(STEMS.length)];
+			String pkg = stem[0] + Integer.toString(random.nextInt(1000000), 36) + '-' + i;
+			int dash = stem[1].indexOf(" - "); //$NON-NLS-1$
+			entries.add(new PackageEntry(pkg, stem[1].substring(0, dash), stem[1].substring(dash + 3),
+					"1." + (i % 20), "/usr/lib/x86_64-linux-gnu/pkgconfig/" + pkg + ".pc")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return entries;
+	}
+
+	/**
+	 * Format packages the way "pkg-config --list-all" prints them,
+	 * the descriptions aligned to a column.
+	 *
+	 * @param entries
+	 * @return Lines.
+	 */
+	public static ArrayList<String> createListAllOutput(List<PackageEntry> entries) {
+		ArrayList<String> lines = new ArrayList<String>(entries.size());
+		StringBuilder sb = new StringBuilder();
+		for (PackageEntry entry : entries) {
+			sb.setLength(0);
+			sb.append(entry.getName()).append(' ');
+			while (sb.length() < 32) {
+				sb.append(' ');
+			}
+			sb.append(entry.getSummary());
+			lines.add(sb.toString());
+		}
+		return lines;
+	}
+
+}
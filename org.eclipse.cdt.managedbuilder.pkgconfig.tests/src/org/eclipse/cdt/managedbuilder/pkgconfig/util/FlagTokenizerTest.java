@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FlagTokenizer}.
+ *
+ */
+public class FlagTokenizerTest {
+
+	private static List<String> split(String s) {
+		return new FlagTokenizer().split(s);
+	}
+
+	@Test
+	public void splitsAtWhiteSpace() {
+		assertEquals(Arrays.asList("-I/a", "-DX", "-lfoo"), split("  -I/a\t-DX \n -lfoo "));
+		assertEquals(Collections.<String>emptyList(), split("   "));
+	}
+
+	@Test
+	public void removesQuotesAndEscapes() {
+		assertEquals(Arrays.asList("-I/a b", "-DV=\"1.0\"", "-DW=C:\\x", "it's"),
+				split("-I/a\\ b -DV=\\\"1.0\\\" -DW=C:\\\\x \"it's\""));
+		assertEquals(Arrays.asList("-DS='x y'"), split("\"-DS='x y'\""));
+		assertEquals(Arrays.asList("a\"b"), split("'a\"b'"));
+	}
+
+	@Test
+	public void classifiesFlags() {
+		FlagTokenizer.Result result = new FlagTokenizer().tokenize(
+				"-I/inc -isystem /sys -DX=1 -pthread -L/lib -lfoo -l bar -Wl,--as-needed -rdynamic",
+				new FlagTokenizer.Result());
+		assertEquals(Arrays.asList("/inc", "/sys"), result.getIncludePaths());
+		assertEquals(Arrays.asList("-DX=1"), result.getDefines());
+		assertEquals(Arrays.asList("-pthread"), result.getOtherCflags());
+		assertEquals(Arrays.asList("/lib"), result.getLibPaths());
+		assertEquals(Arrays.asList("foo", "bar"), result.getLibFiles());
+		assertEquals(Arrays.asList("-Wl,--as-needed", "-rdynamic"), result.getOtherLibFlags());
+	}
+
+	@Test
+	public void keepsOptionWithoutArgument() {
+		FlagTokenizer.Result result = new FlagTokenizer().tokenize("-DX -I", new FlagTokenizer.Result());
+		assertEquals(Arrays.asList("-I"), result.getOtherCflags());
+		FlagTokenizer.tokenize(Arrays.asList("-DX", "-L"), result);
+		assertEquals(Arrays.asList("-L"), result.getOtherCflags());
+	}
+
+	@Test
+	public void classifiesSplitArgumentsLikeOutput() {
+		List<String> args = Arrays.asList("-I/a b", "-DV=\"1.0\"", "-isystem", "/s", "-L/l", "-lx");
+		assertEquals(Parser.parseFlags(FlagTokenizer.join(args)).getIncludePaths(),
+				Parser.parseFlags(args).getIncludePaths());
+		assertEquals(Arrays.asList("/a b", "/s"), Parser.parseFlags(args).getIncludePaths());
+		assertEquals(Arrays.asList("-DV=\"1.0\""), Parser.parseFlags(args).getDefines());
+	}
+
+	@Test
+	public void joinedArgumentsSplitBack() {
+		List<String> args = Arrays.asList("-DVERSION=\"1.0\"", "-DWIN=C:\\x", "-I/a b/c", "-DS='x'",
+				"-D$HOME", "-DA=`b`;c&d|e<f>g(h)*?[i]{j}#~!", "", "-I/\u00e4", "-Dtab\there");
+		assertEquals(args, split(FlagTokenizer.join(args)));
+		assertEquals("-DVERSION=\\\"1.0\\\" -DWIN=C:\\\\x ",
+				FlagTokenizer.join(args.subList(0, 2)));
+	}
+
+	@Test
+	public void parsesNullOutput() {
+		assertNull(Parser.parseFlags((String) null));
+	}
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link PackageGraph}.
+ *
+ */
+public class PackageGraphTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private File dir;
+	private PackageGraph graph;
+
+	@Before
+	public void setUp() throws IOException {
+		this.dir = this.tmp.newFolder("pkgconfig");
+		this.graph = new PackageGraph(new PcFileResolver(Collections.singletonList(this.dir.getPath())));
+	}
+
+	private void write(String pkg, String version, String requires, String requiresPrivate)
+			throws IOException {
+		PcFiles.write(this.dir, pkg, "Name: " + pkg, "Description: " + pkg, "Version: " + version,
+				"Requires: " + requires, "Requires.private: " + requiresPrivate, "Libs: -l" + pkg);
+	}
+
+	private static String names(List<PcFile> closure) {
+		StringBuilder sB = new StringBuilder();
+		for (PcFile pc : closure) {
+			sB.append(pc.getPackage()).append(' ');
+		}
+		return sB.toString().trim();
+	}
+
+	@Test
+	public void sharedRequirementComesAfterAllUsers() throws IOException {
+		write("gtk", "3.0", "gio pango", "");
+		write("gio", "2.0", "glib", "");
+		write("pango", "1.0", "glib", "");
+		write("glib", "2.0", "", "");
+		assertEquals("gtk gio pango glib", names(this.graph.getClosure("gtk", false)));
+		assertEquals("gio pango glib", names(this.graph.getClosure(new String[] {"gio", "pango"}, false)));
+	}
+
+	@Test
+	public void followsPrivateRequirementsOnlyWhenAsked() throws IOException {
+		write("a", "1.0", "b", "c");
+		write("b", "1.0", "", "");
+		write("c", "1.0", "", "");
+		assertEquals("a b", names(this.graph.getClosure("a", false)));
+		assertEquals("a b c", names(this.graph.getClosure("a", true)));
+	}
+
+	@Test
+	public void unsatisfiedVersionFails() throws IOException {
+		write("a", "1.0", "b >= 2.0", "");
+		write("b", "1.9", "", "");
+		assertNull(this.graph.getClosure("a", false));
+		write("c", "1.0", "b<2", "");
+		assertEquals("c b", names(this.graph.getClosure("c", false)));
+	}
+
+	@Test
+	public void missingRequirementFails() throws IOException {
+		write("a", "1.0", "missing", "");
+		assertNull(this.graph.getClosure("a", false));
+		assertNull(this.graph.getMergeOrder(new String[] {"a"}));
+	}
+
+	@Test
+	public void cycleTerminates() throws IOException {
+		write("a", "1.0", "b", "");
+		write("b", "1.0", "a", "");
+		assertEquals("a b", names(this.graph.getClosure("a", false)));
+		assertEquals("b a", names(this.graph.getClosure("b", false)));
+	}
+
+	@Test
+	public void mergeOrderLeavesOutRequiredPackages() throws IOException {
+		write("app", "1.0", "gtk", "");
+		write("gtk", "3.0", "glib", "");
+		write("glib", "2.0", "", "");
+		write("other", "1.0", "", "");
+		assertEquals(Arrays.asList("app", "other"),
+				this.graph.getMergeOrder(new String[] {"app", "glib", "other"}));
+	}
+
+	@Test
+	public void changedFileIsReadAgain() throws IOException {
+		write("a", "1.0", "b", "");
+		write("b", "1.0", "", "");
+		write("c", "1.0", "", "");
+		assertEquals("a b", names(this.graph.getClosure("a", false)));
+		File file = new File(this.dir, "a.pc");
+		long lastModified = file.lastModified();
+		write("a", "1.0", "c", "");
+		file.setLastModified(lastModified + 2000);
+		assertEquals("a c", names(this.graph.getClosure("a", false)));
+	}
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link PcFileResolver} and the flags formatted from a resolution.
+ *
+ */
+public class PcFileResolverTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		this.dir = this.tmp.newFolder("pkgconfig");
+	}
+
+	private PcFileResolver newResolver(File... dirs) {
+		List<String> searchPath = new ArrayList<String>();
+		for (File d : dirs) {
+			searchPath.add(d.getPath());
+		}
+		return new PcFileResolver(searchPath);
+	}
+
+	private static List<String> flagsOf(PcFileResolver.Resolution res) {
+		List<String> args = new ArrayList<String>(res.getCflags());
+		args.addAll(res.getLibs());
+		return args;
+	}
+
+	@Test
+	public void resolvesRequirements() throws IOException {
+		PcFiles.write(this.dir, "a", "b", "-I/inc/a", "-L/lib/a -la");
+		PcFiles.write(this.dir, "b", "", "-I/inc/b", "-L/lib/b -lb");
+		PcFileResolver.Resolution res = newResolver(this.dir).resolve(new String[] {"a"});
+		assertNotNull(res);
+		assertEquals(Arrays.asList("-I/inc/a", "-I/inc/b"), res.getCflags());
+		assertEquals(Arrays.asList("-L/lib/a", "-la", "-L/lib/b", "-lb"), res.getLibs());
+		assertEquals(2, res.getFiles().size());
+	}
+
+	@Test
+	public void missingRequirementFails() throws IOException {
+		PcFiles.write(this.dir, "a", "missing", "-I/inc/a", "-la");
+		assertNull(newResolver(this.dir).resolve(new String[] {"a"}));
+	}
+
+	@Test
+	public void dropsSystemDirectoriesAndDuplicates() throws IOException {
+		PcFiles.write(this.dir, "a", "b c", "-I/inc/a -I/usr/include", "-la -lb");
+		PcFiles.write(this.dir, "b", "c", "-I/inc/a -I/inc/b", "-lb -lc");
+		PcFiles.write(this.dir, "c", "", "-I/inc/c", "-L/usr/lib -lc");
+		PcFileResolver.Resolution res = newResolver(this.dir).resolve(new String[] {"a"});
+		assertNotNull(res);
+		assertEquals(Arrays.asList("-I/inc/a", "-I/inc/b", "-I/inc/c"), res.getCflags());
+		assertEquals(Arrays.asList("-la", "-lb", "-lc"), res.getLibs());
+	}
+
+	@Test
+	public void firstDirectoryWins() throws IOException {
+		File other = this.tmp.newFolder("other");
+		PcFiles.write(this.dir, "s", "", "-I/new", "");
+		PcFiles.write(other, "s", "", "-I/old", "");
+		PcFileResolver.Resolution res = newResolver(this.dir, other).resolve(new String[] {"s"});
+		assertNotNull(res);
+		assertEquals(Collections.singletonList("-I/new"), res.getCflags());
+	}
+
+	@Test
+	public void formattedFlagsParseLikePkgConfigOutput() throws IOException {
+		PcFiles.write(this.dir, "q", "", "-DVERSION=\\\"1.0\\\" -DWIN=C:\\\\x -I/with\\ space", "-lq");
+		PcFileResolver.Resolution res = newResolver(this.dir).resolve(new String[] {"q"});
+		assertNotNull(res);
+		List<String> args = flagsOf(res);
+		assertEquals(Arrays.asList("-DVERSION=\"1.0\"", "-DWIN=C:\\x", "-I/with space", "-lq"), args);
+
+		//what pkg-config prints for the same file
+		String pkgConfigOutput = "-DVERSION=\\\"1.0\\\" -DWIN=C:\\\\x -I/with\\ space -lq ";
+		assertEquals(pkgConfigOutput, FlagTokenizer.join(args));
+
+		PkgConfigFlags direct = Parser.parseFlags(args);
+		PkgConfigFlags parsed = Parser.parseFlags(pkgConfigOutput);
+		assertNotNull(parsed);
+		assertEquals(Arrays.asList("-DVERSION=\"1.0\"", "-DWIN=C:\\x"), direct.getDefines());
+		assertEquals(parsed.getDefines(), direct.getDefines());
+		assertEquals(parsed.getIncludePaths(), direct.getIncludePaths());
+		assertEquals(parsed.getLibFiles(), direct.getLibFiles());
+		assertEquals(args, new FlagTokenizer().split(FlagTokenizer.join(args)));
+	}
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PcFile.Requirement;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link PcFile}.
+ *
+ */
+public class PcFileTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private PcFile load(String... lines) throws IOException {
+		File file = PcFiles.write(this.tmp.getRoot(), "test", lines);
+		return PcFile.load("test", file, false);
+	}
+
+	private static List<String> toStrings(List<Requirement> reqs) {
+		String[] strings = new String[reqs.size()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = reqs.get(i).toString();
+		}
+		return Arrays.asList(strings);
+	}
+
+	@Test
+	public void expandsVariables() throws IOException {
+		PcFile pc = load("prefix=/opt/x", "libdir=${prefix}/lib", "price=$$5",
+				"Libs: -L${libdir} -lx");
+		assertEquals("/opt/x/lib", pc.getVariable("libdir"));
+		assertEquals("$5", pc.getVariable("price"));
+		assertEquals("-L/opt/x/lib -lx", pc.getKeyword(PcFile.LIBS));
+	}
+
+	@Test(expected = IOException.class)
+	public void undefinedVariableFails() throws IOException {
+		load("Cflags: -I${includedir}");
+	}
+
+	@Test
+	public void predefinesVariables() throws IOException {
+		PcFile pc = load("Cflags: -I${pc_sysrootdir}inc -I${pc_top_builddir}/inc -I${pcfiledir}");
+		String sysroot = System.getenv("PKG_CONFIG_SYSROOT_DIR");
+		String topBuildDir = System.getenv("PKG_CONFIG_TOP_BUILD_DIR");
+		assertEquals("-I" + (sysroot != null ? sysroot : "/") + "inc -I"
+				+ (topBuildDir != null ? topBuildDir : "$(top_builddir)") + "/inc -I"
+				+ this.tmp.getRoot().getPath(), pc.getKeyword(PcFile.CFLAGS));
+	}
+
+	@Test
+	public void stripsCommentsAndJoinsLines() throws IOException {
+		PcFile pc = load("# comment", "Cflags: -DA \\", "  -DB # comment", "Libs: -l\\#");
+		assertEquals("-DA   -DB", pc.getKeyword(PcFile.CFLAGS));
+		assertEquals("-l#", pc.getKeyword(PcFile.LIBS));
+	}
+
+	@Test
+	public void parsesRequirements() throws IOException {
+		PcFile pc = load("Requires: a, b >= 2.0 c", "Requires.private: d,e<1");
+		assertEquals(Arrays.asList("a", "b >= 2.0", "c"),
+				toStrings(pc.getRequirements(PcFile.REQUIRES)));
+		assertEquals(Arrays.asList("d", "e < 1"),
+				toStrings(pc.getRequirements(PcFile.REQUIRES_PRIVATE)));
+	}
+
+	@Test
+	public void parsesRequirementsWithoutSpaces() throws IOException {
+		PcFile pc = load("Requires: a b>=2.0,c!=1.1 d =3");
+		List<Requirement> reqs = pc.getRequirements(PcFile.REQUIRES);
+		assertEquals(Arrays.asList("a", "b >= 2.0", "c != 1.1", "d = 3"), toStrings(reqs));
+		assertTrue(reqs.get(1).isSatisfiedBy("2.10"));
+		assertFalse(reqs.get(1).isSatisfiedBy("1.9"));
+	}
+
+	@Test
+	public void readsOnlyTheHeader() throws IOException {
+		File file = PcFiles.write(this.tmp.getRoot(), "test", "Name: test",
+				"Description: ${undefined}", "Version: 1.0", "Cflags: -DA");
+		PcFile pc = PcFile.loadHeader("test", file);
+		assertEquals("${undefined}", pc.getKeyword(PcFile.DESCRIPTION));
+		assertEquals("", pc.getKeyword(PcFile.CFLAGS));
+	}
+
+	@Test
+	public void comparesVersions() {
+		assertEquals(0, PcFile.compareVersions("1.2.3", "1.2.3"));
+		assertTrue(PcFile.compareVersions("1.10", "1.9") > 0);
+		assertTrue(PcFile.compareVersions("1.2", "1.2.1") < 0);
+		assertEquals(0, PcFile.compareVersions("1.02", "1.2"));
+		assertTrue(PcFile.compareVersions("1.0a", "1.0") > 0);
+		assertTrue(PcFile.compareVersions("2", "1a") > 0);
+	}
+
+}
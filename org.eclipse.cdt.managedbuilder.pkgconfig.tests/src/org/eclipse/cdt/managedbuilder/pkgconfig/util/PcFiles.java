@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes .pc files for the tests.
+ *
+ */
+public class PcFiles {
+
+	/**
+	 * Write a .pc file.
+	 *
+	 * @param dir Directory, created if missing.
+	 * @param pkg Package name.
+	 * @param lines Lines of the file.
+	 * @return The file.
+	 * @throws IOException
+	 */
+	public static File write(File dir, String pkg, String... lines) throws IOException {
+		dir.mkdirs();
+		File file = new File(dir, pkg + ".pc");
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			for (String line : lines) {
+				out.write(line);
+				out.write('\n');
+			}
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a .pc file that has the required keywords.
+	 *
+	 * @param dir Directory, created if missing.
+	 * @param pkg Package name.
+	 * @param requires Value of Requires.
+	 * @param cflags Value of Cflags.
+	 * @param libs Value of Libs.
+	 * @return The file.
+	 * @throws IOException
+	 */
+	public static File write(File dir, String pkg, String requires, String cflags, String libs)
+			throws IOException {
+		return write(dir, pkg, "Name: " + pkg, "Description: Package " + pkg, "Version: 1.0",
+				"Requires: " + requires, "Cflags: " + cflags, "Libs: " + libs);
+	}
+
+}
@@ -13,6 +13,15 @@ package org.eclipse.cdt.managedbuilder.pkgconfig;
 import java.io.IOException;
 import java.util.PropertyResourceBundle;
 
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceListener;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+import org.eclipse.cdt.managedbuilder.pkgconfig.settings.PrefetchJob;
+import org.eclipse.cdt.managedbuilder.pkgconfig.settings.ProjectDescriptionListener;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigAsync;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigMetrics;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ResolutionCache;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ResolutionExecutor;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
@@ -38,6 +47,15 @@ public class Activator extends AbstractUIPlugin {
 	//Property Resource bundle
 	private PropertyResourceBundle properties;
 	
+	//Resets failure handling when the preferences change
+	private PreferenceListener preferenceListener;
+
+	//Keeps the checked packages of the projects up to date
+	private ProjectDescriptionListener projectDescriptionListener;
+
+	//Warms the caches after start
+	private PrefetchJob prefetchJob;
+	
 	/**
 	 * The constructor
 	 */
@@ -54,6 +72,14 @@ public class Activator extends AbstractUIPlugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		plugin = this;
+		this.preferenceListener = new PreferenceListener();
+		PreferenceStore.getPreferenceStore().addPreferenceChangeListener(this.preferenceListener);
+		this.projectDescriptionListener = new ProjectDescriptionListener();
+		CoreModel.getDefault().addCProjectDescriptionListener(this.projectDescriptionListener,
+				ProjectDescriptionListener.EVENT_TYPES);
+		PkgConfigMetrics.register();
+		this.prefetchJob = new PrefetchJob();
+		this.prefetchJob.schedule(PrefetchJob.START_DELAY);
 	}
 
 	/*
@@ -62,6 +88,32 @@ public class Activator extends AbstractUIPlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		if (this.preferenceListener != null) {
+			PreferenceStore.getPreferenceStore().removePreferenceChangeListener(this.preferenceListener);
+			this.preferenceListener = null;
+		}
+		if (this.projectDescriptionListener != null) {
+			CoreModel.getDefault().removeCProjectDescriptionListener(this.projectDescriptionListener);
+			this.projectDescriptionListener = null;
+		}
+		if (this.prefetchJob != null) {
+			//a running pkg-config is killed once the job sees the cancellation
+			//cancel() is false as long as the job is running, the shutdown
+			//is not held up if a package doesn't give up
+			long deadline = System.currentTimeMillis() + PrefetchJob.STOP_TIMEOUT;
+			try {
+				while (!this.prefetchJob.cancel() && System.currentTimeMillis() < deadline) {
+					Thread.sleep(50);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			this.prefetchJob = null;
+		}
+		PkgConfigMetrics.unregister();
+		PkgConfigAsync.shutdown();
+		ResolutionExecutor.shutdown();
+		ResolutionCache.save();
 		plugin = null;
 		super.stop(context);
 	}
@@ -19,4 +19,12 @@ public class PreferenceConstants {
 	public static final String PKG_CONFIG_LIBDIR = "Replaces the" + //$NON-NLS-1$
 			" default pkg-config search directory."; //$NON-NLS-1$
 	
+	public static final String USE_BUILTIN_RESOLVER = "useBuiltinResolver"; //$NON-NLS-1$
+	
+	public static final String MAX_CONCURRENT_RESOLUTIONS = "maxConcurrentResolutions"; //$NON-NLS-1$
+	
+	public static final String TIMEOUT = "timeout"; //$NON-NLS-1$
+	
+	public static final int DEFAULT_TIMEOUT = 10;
+	
 }
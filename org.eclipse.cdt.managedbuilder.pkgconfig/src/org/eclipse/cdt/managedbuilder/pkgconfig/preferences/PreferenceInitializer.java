@@ -31,6 +31,10 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 		IEclipsePreferences store = DefaultScope.INSTANCE.getNode(Activator.PLUGIN_ID);
 		store.put(PreferenceConstants.PKG_CONFIG_PATH, ""); //$NON-NLS-1$
 		store.put(PreferenceConstants.PKG_CONFIG_LIBDIR, ""); //$NON-NLS-1$
+		store.putBoolean(PreferenceConstants.USE_BUILTIN_RESOLVER, true);
+		store.putInt(PreferenceConstants.MAX_CONCURRENT_RESOLUTIONS,
+				PreferenceStore.getDefaultMaxConcurrentResolutions());
+		store.putInt(PreferenceConstants.TIMEOUT, PreferenceConstants.DEFAULT_TIMEOUT);
 	}
 
 }
\ No newline at end of file
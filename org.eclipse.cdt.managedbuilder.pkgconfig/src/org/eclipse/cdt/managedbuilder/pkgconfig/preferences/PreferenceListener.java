@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.preferences;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+
+/**
+ * Lets pkg-config be launched again after the pkg-config preferences
+ * have changed, e.g. after the user has fixed the pkg-config path.
+ *
+ */
+public class PreferenceListener implements IPreferenceChangeListener {
+
+	@Override
+	public void preferenceChange(PreferenceChangeEvent event) {
+		String key = event.getKey();
+		if (PreferenceConstants.PKG_CONFIG_PATH.equals(key)
+				|| PreferenceConstants.PKG_CONFIG_LIBDIR.equals(key)
+				|| PreferenceConstants.USE_BUILTIN_RESOLVER.equals(key)) {
+			PkgConfigUtil.preferencesChanged();
+		}
+	}
+
+}
@@ -15,7 +15,9 @@ import org.eclipse.cdt.internal.core.envvar.UserDefinedEnvironmentSupplier;
 import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
 import org.eclipse.cdt.utils.envvar.StorableEnvironment;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
@@ -33,8 +35,16 @@ import org.eclipse.ui.PlatformUI;
 public class PreferencePage extends FieldEditorPreferencePage
 implements IWorkbenchPreferencePage {
 
+	//upper limit for the concurrency preference
+	private static final int MAX_CONCURRENCY = 64;
+	//upper limit for the timeout preference in seconds
+	private static final int MAX_TIMEOUT = 600;
+	
 	private PkgConfigPathListEditor configPathListEditor;
 	private LibDirFieldEditor libDirEditor;
+	private BooleanFieldEditor builtinResolverEditor;
+	private IntegerFieldEditor concurrencyEditor;
+	private IntegerFieldEditor timeoutEditor;
 	
 	/**
 	 * Constructor.
@@ -80,6 +90,10 @@ implements IWorkbenchPreferencePage {
 		vars.createVariable("PKG_CONFIG_PATH", PreferenceStore.getPkgConfigPath()); //$NON-NLS-1$
 		fUserSupplier.setWorkspaceEnvironment(vars);
 		
+		this.builtinResolverEditor.store();
+		this.concurrencyEditor.store();
+		this.timeoutEditor.store();
+		
 		restartWorkspaceDialog();
 		
         return true;
@@ -128,6 +142,20 @@ implements IWorkbenchPreferencePage {
 		this.libDirEditor = new LibDirFieldEditor(PreferenceConstants.PKG_CONFIG_LIBDIR, 
 				Messages.PreferencePage_2, getFieldEditorParent());
 		addField(this.libDirEditor); 
+		//resolve .pc files in-process
+		this.builtinResolverEditor = new BooleanFieldEditor(PreferenceConstants.USE_BUILTIN_RESOLVER,
+				Messages.PreferencePage_3, getFieldEditorParent());
+		addField(this.builtinResolverEditor);
+		//number of concurrent pkg-config invocations
+		this.concurrencyEditor = new IntegerFieldEditor(PreferenceConstants.MAX_CONCURRENT_RESOLUTIONS,
+				Messages.PreferencePage_4, getFieldEditorParent());
+		this.concurrencyEditor.setValidRange(1, MAX_CONCURRENCY);
+		addField(this.concurrencyEditor);
+		//pkg-config is killed after the timeout
+		this.timeoutEditor = new IntegerFieldEditor(PreferenceConstants.TIMEOUT,
+				Messages.PreferencePage_5, getFieldEditorParent());
+		this.timeoutEditor.setValidRange(1, MAX_TIMEOUT);
+		addField(this.timeoutEditor);
 	}
 
 }
\ No newline at end of file
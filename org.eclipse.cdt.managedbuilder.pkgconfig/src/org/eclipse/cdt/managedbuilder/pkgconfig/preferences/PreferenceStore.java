@@ -89,6 +89,46 @@ public class PreferenceStore {
 		setPreferenceStoreValue(PreferenceConstants.PKG_CONFIG_LIBDIR, path);
 	}
 	
+	/**
+	 * Check if .pc files should be resolved without launching pkg-config.
+	 * 
+	 * @return true if the built-in resolver is enabled.
+	 */
+	public static boolean isBuiltinResolverEnabled() {
+		return getPreferenceStore().getBoolean(PreferenceConstants.USE_BUILTIN_RESOLVER, true);
+	}
+	
+	/**
+	 * Get the maximum number of packages resolved concurrently.
+	 * 
+	 * @return Concurrency limit, at least 1.
+	 */
+	public static int getMaxConcurrentResolutions() {
+		int max = getPreferenceStore().getInt(PreferenceConstants.MAX_CONCURRENT_RESOLUTIONS,
+				getDefaultMaxConcurrentResolutions());
+		return Math.max(1, max);
+	}
+	
+	/**
+	 * Get the default concurrency limit, i.e. the number of processors.
+	 * 
+	 * @return Default concurrency limit.
+	 */
+	public static int getDefaultMaxConcurrentResolutions() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * Get the time pkg-config is allowed to run before it is killed.
+	 * 
+	 * @return Timeout in milliseconds.
+	 */
+	public static long getTimeout() {
+		int seconds = getPreferenceStore().getInt(PreferenceConstants.TIMEOUT,
+				PreferenceConstants.DEFAULT_TIMEOUT);
+		return Math.max(1, seconds) * 1000L;
+	}
+	
 	/**
 	 * Get values from the preference store as a String array.
 	 * Used to get preference store values which consist of multiple paths
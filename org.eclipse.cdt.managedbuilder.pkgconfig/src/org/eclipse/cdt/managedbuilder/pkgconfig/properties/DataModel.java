@@ -10,10 +10,19 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.pkgconfig.properties;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageList;
+
 public class DataModel {
 	
 	private String pkg;
 	private String desc;
+	//row of the package index the strings are decoded from when needed
+	private PackageList list;
+	private int row;
 
 	public DataModel(String pkg, String desc) {
 		super();
@@ -21,17 +30,43 @@ public class DataModel {
 		this.desc = desc;
 	}
 
+	/**
+	 * Constructor for a package whose strings are read from a package list
+	 * only when the row is displayed.
+	 * 
+	 * @param list
+	 * @param row
+	 */
+	public DataModel(PackageList list, int row) {
+		this.list = list;
+		this.row = row;
+	}
+
+	/**
+	 * Create a row for each package of a package list.
+	 * 
+	 * @param packages Packages sorted by name.
+	 * @return Unmodifiable list of rows.
+	 */
+	public static List<DataModel> createRows(PackageList packages) {
+		List<DataModel> dms = new ArrayList<DataModel>(packages.size());
+		for (int i=0; i<packages.size(); i++) {
+			dms.add(new DataModel(packages, i));
+		}
+		return Collections.unmodifiableList(dms);
+	}
+
 	public String getPackage() {
-		return this.pkg;
+		return this.pkg != null ? this.pkg : this.list.getName(this.row);
 	}
 
 	public String getDescription() {
-		return this.desc;
+		return this.desc != null ? this.desc : this.list.getSummary(this.row);
 	}
 	
 	@Override
 	public String toString() {
-		return this.pkg;
+		return getPackage();
 	}
 
-}
\ No newline at end of file
+}
@@ -10,60 +10,121 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.pkgconfig.properties;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.File;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageEntry;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageIndexFile;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PackageList;
 import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
 
+/**
+ * Provides the installed packages to the property tab. The list is loaded
+ * on first use, not when the class is initialized, and kept as an immutable
+ * snapshot. A new snapshot is loaded when the search path or one of its
+ * directories has changed and swapped in atomically, so readers always see
+ * either the old or the new list as a whole.
+ *
+ */
 public enum DataModelProvider {
 	INSTANCE;
 
-	private List<DataModel> dms;
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<Snapshot>();
 
 	/**
-	 * Initialize.
+	 * Get the DataModel entries. The packages are loaded on the first call
+	 * and reloaded if the snapshot is out of date.
+	 *
+	 * @return Unmodifiable list of packages sorted by name.
 	 */
-	private DataModelProvider() {
-		this.dms = new ArrayList<DataModel>();
+	public List<DataModel> getEntries() {
+		Snapshot current = this.snapshot.get();
+		if (current == null || !current.isCurrent()) {
+			current = reloadIfOutOfDate();
+		}
+		return current.entries;
+	}
 
-		ArrayList<String> packages = PkgConfigUtil.getAllPackages();
-		ArrayList<String> pkgList = Parser.parsePackageList(packages);
-		ArrayList<String> nonSortedPkgList = Parser.parsePackageList(packages);
-		HashMap<Integer, Integer> origSortedIdx = new HashMap<Integer, Integer>();
-		Collections.sort(pkgList, String.CASE_INSENSITIVE_ORDER);
-		int sortedIdx;
-		for (int i=0; i<pkgList.size(); i++) {
-			//get the index of sorted value
-			sortedIdx = pkgList.indexOf(nonSortedPkgList.get(i));
-			origSortedIdx.put(new Integer(i), new Integer(sortedIdx)); //map sorting
+	private synchronized Snapshot reloadIfOutOfDate() {
+		//another thread may have reloaded while this one waited
+		Snapshot current = this.snapshot.get();
+		if (current == null || !current.isCurrent()) {
+			current = load();
+			this.snapshot.set(current);
 		}
-		
-		//get descriptions and sort according to package names
-		ArrayList<String> descs = Parser.parseDescription(packages);
-		int cellPlace;
-		String[] sortedArray = new String[descs.size()];
-		for (int i=0; i<descs.size(); i++) {
-			cellPlace = origSortedIdx.get(new Integer(i)).intValue();
-			sortedArray[cellPlace] = descs.get(i);
+		return current;
+	}
+
+	private static Snapshot load() {
+		int generation = PkgConfigUtil.getGeneration();
+		List<String> searchPath = PkgConfigUtil.getSearchPath();
+		long[] lastModified = getLastModified(searchPath);
+		PackageList packages = PackageIndexFile.load(searchPath);
+		if (packages == null) {
+			List<PackageEntry> entries = PkgConfigUtil.getPackages();
+			if (entries == null) {
+				//pkg-config failed, don't store an empty index
+				return new Snapshot(generation, searchPath, lastModified,
+						Collections.<DataModel>emptyList());
+			}
+			//a mapped index cannot be replaced on Windows, save() keeps the list in memory then
+			packages = PackageIndexFile.save(searchPath, PackageList.create(entries));
 		}
-		
-		List<String> descList = Arrays.asList(sortedArray);  
-		for (int i=0; i<descList.size(); i++) {
-			this.dms.add(new DataModel(pkgList.get(i), descList.get(i)));
+		return new Snapshot(generation, searchPath, lastModified, DataModel.createRows(packages));
+	}
+
+	static long[] getLastModified(List<String> searchPath) {
+		long[] lastModified = new long[searchPath.size()];
+		for (int i = 0; i < lastModified.length; i++) {
+			lastModified[i] = new File(searchPath.get(i)).lastModified();
 		}
+		return lastModified;
 	}
 
 	/**
-	 * Get the DataModel entries
-	 * .
-	 * @return
+	 * Packages loaded at one point in time together with what
+	 * they were loaded from.
+	 *
 	 */
-	public List<DataModel> getEntries() {
-		return this.dms;
+	static class Snapshot {
+
+		final int generation;
+		final List<String> searchPath;
+		final long[] lastModified;
+		final List<DataModel> entries;
+
+		Snapshot(int generation, List<String> searchPath, long[] lastModified,
+				List<DataModel> entries) {
+			this.generation = generation;
+			this.searchPath = searchPath;
+			this.lastModified = lastModified;
+			this.entries = entries;
+		}
+
+		/**
+		 * Check that the preferences, the search path and the modification
+		 * times of its directories are the same as when the snapshot was
+		 * loaded. Packages are added or removed by changing a directory.
+		 *
+		 * @return True if up to date.
+		 */
+		boolean isCurrent() {
+			if (this.generation != PkgConfigUtil.getGeneration()) {
+				return false;
+			}
+			List<String> current = PkgConfigUtil.getSearchPath();
+			if (!this.searchPath.equals(current)) {
+				return false;
+			}
+			for (int i = 0; i < this.lastModified.length; i++) {
+				if (new File(current.get(i)).lastModified() != this.lastModified[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
 	}
 
-}
\ No newline at end of file
+}
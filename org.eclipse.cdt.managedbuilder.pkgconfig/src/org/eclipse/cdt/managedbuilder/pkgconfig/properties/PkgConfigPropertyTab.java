@@ -14,7 +14,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.model.CoreModel;
@@ -26,9 +28,12 @@ import org.eclipse.cdt.core.settings.model.ICStorageElement;
 import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
 import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
 import org.eclipse.cdt.managedbuilder.pkgconfig.settings.PkgConfigExternalSettingProvider;
-import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.FlightRecorderEvents;
 import org.eclipse.cdt.managedbuilder.pkgconfig.util.PathToToolOption;
-import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigFlags;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigAsync;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigMetrics;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ResolutionCallback;
 import org.eclipse.cdt.ui.newui.AbstractCPropertyTab;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
@@ -36,23 +41,25 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.CheckStateChangedEvent;
 import org.eclipse.jface.viewers.CheckboxTableViewer;
 import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.ICheckStateListener;
+import org.eclipse.jface.viewers.ICheckStateProvider;
 import org.eclipse.jface.viewers.IDoubleClickListener;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.SashForm;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
-import org.eclipse.swt.widgets.TableItem;
 
 /**
  * Property tab to select packages and add pkg-config output
@@ -62,12 +69,26 @@ import org.eclipse.swt.widgets.TableItem;
 public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 
 	private CheckboxTableViewer pkgCfgViewer;
-	private Set<Object> previouslyChecked;
+	private Set<Object> previouslyChecked = new HashSet<Object>();
 	private ArrayList<Object> newItems = new ArrayList<Object>();
 	private static final int BUTTON_SELECT = 0;
 	private static final int BUTTON_DESELECT = 1;
 	private final String PACKAGES = "packages"; //$NON-NLS-1$
 	private boolean reindexToggle = false;
+	private Future<List<PkgConfigFlags>> pendingResolution;
+	private String[] pendingAdded = new String[0];
+	//input of the viewer, filled in batches once the packages are loaded
+	private final List<Object> rows = new ArrayList<Object>();
+	//checked packages, the table asks for the state of the visible rows
+	final Set<Object> checked = new HashSet<Object>();
+	private Job loadJob;
+	private boolean loaded = false;
+	//Restore Defaults was pressed before the packages were loaded
+	private boolean defaultsPending = false;
+	//rows added to the table at a time so that the UI thread is not blocked
+	private static final int BATCH_SIZE = 500;
+	//shown until the packages are loaded
+	private static final DataModel LOADING = new DataModel("Loading packages...", ""); //$NON-NLS-1$ //$NON-NLS-2$
 
 	private SashForm sashForm;
 
@@ -96,8 +117,9 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 		GridLayout layout2 = new GridLayout(3, false);
 		c1.setLayout(layout2);
 
+		//items are created only for the rows that are shown
 		this.pkgCfgViewer = CheckboxTableViewer.newCheckList(c1, SWT.MULTI | SWT.H_SCROLL
-				| SWT.V_SCROLL | SWT.FULL_SELECTION | SWT.BORDER);
+				| SWT.V_SCROLL | SWT.FULL_SELECTION | SWT.BORDER | SWT.VIRTUAL);
 		final Table tbl = this.pkgCfgViewer.getTable();
 		tbl.setHeaderVisible(true);
 		tbl.setLinesVisible(true);
@@ -107,20 +129,34 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 		tbl.setLayoutData(gd);
 
 		createColumns(c1, this.pkgCfgViewer);
-		this.pkgCfgViewer.setContentProvider(new ArrayContentProvider());
-		this.pkgCfgViewer.setInput(DataModelProvider.INSTANCE.getEntries());
+		this.pkgCfgViewer.setContentProvider(new LazyContentProvider());
+		this.pkgCfgViewer.setCheckStateProvider(new ICheckStateProvider() {
+			@Override
+			public boolean isChecked(Object element) {
+				return PkgConfigPropertyTab.this.checked.contains(element);
+			}
+
+			@Override
+			public boolean isGrayed(Object element) {
+				return false;
+			}
+		});
+		this.pkgCfgViewer.setUseHashlookup(true);
+		this.rows.add(LOADING);
+		this.pkgCfgViewer.setInput(this.rows);
+		this.pkgCfgViewer.setItemCount(this.rows.size());
+		tbl.setEnabled(false);
 
 		this.pkgCfgViewer.addCheckStateListener(new PkgListener());
 
 		this.pkgCfgViewer.addDoubleClickListener(new IDoubleClickListener() {
 			@Override
 			public void doubleClick(DoubleClickEvent event) {
-				TableItem itm = tbl.getSelection()[0];
-				if (itm.getChecked()) {
-					itm.setChecked(false);
-				} else {
-					itm.setChecked(true);
+				Object[] selected = getSelected();
+				if (selected.length == 0) {
+					return;
 				}
+				setChecked(selected[0], !PkgConfigPropertyTab.this.checked.contains(selected[0]));
 				handleCheckStateChange();
 			}
 		});
@@ -128,23 +164,129 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 		//buttons
 		Composite compositeButtons = new Composite(c1, SWT.NONE);
 		initButtons(compositeButtons, BUTTONS);
+		buttonSetEnabled(BUTTON_SELECT, false);
+		buttonSetEnabled(BUTTON_DESELECT, false);
+
+		loadPackages();
+	}
+
+	/**
+	 * Load the packages in the background so that the property page opens
+	 * immediately even if the package index has to be rebuilt. The table
+	 * is filled in batches on the UI thread.
+	 */
+	private void loadPackages() {
+		final Display display = this.usercomp.getDisplay();
+		this.loadJob = new Job("Load pkg-config packages") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final List<DataModel> entries = DataModelProvider.INSTANCE.getEntries();
+				if (!monitor.isCanceled() && !display.isDisposed()) {
+					display.asyncExec(new Runnable() {
+						@Override
+						public void run() {
+							addRows(entries, 0);
+						}
+					});
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		this.loadJob.setSystem(true);
+		this.loadJob.setPriority(Job.INTERACTIVE);
+		this.loadJob.schedule();
+	}
 
-		initializePackageStates();
+	/**
+	 * Add a batch of packages to the table, check the ones that are checked
+	 * in the storage and schedule the next batch. The table is enabled
+	 * once all the packages have been added.
+	 * 
+	 * @param entries All the packages.
+	 * @param start Index of the first package of the batch.
+	 */
+	void addRows(final List<DataModel> entries, int start) {
+		Table tbl = this.pkgCfgViewer.getTable();
+		if (tbl.isDisposed()) {
+			return;
+		}
+		if (start == 0) {
+			this.rows.remove(LOADING);
+			initializePackageStates(entries);
+		}
+		final int end = Math.min(start + BATCH_SIZE, entries.size());
+		this.rows.addAll(entries.subList(start, end));
+		this.pkgCfgViewer.setItemCount(this.rows.size());
+		//shown rows are asked for again, the others when they are scrolled to
+		this.pkgCfgViewer.refresh();
+		if (end < entries.size()) {
+			//let the UI thread handle other events between the batches
+			tbl.getDisplay().asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					addRows(entries, end);
+				}
+			});
+			return;
+		}
 		this.previouslyChecked = new HashSet<Object>(Arrays.asList(getCheckedItems()));
+		this.loaded = true;
+		tbl.setEnabled(true);
+		buttonSetEnabled(BUTTON_SELECT, true);
+		buttonSetEnabled(BUTTON_DESELECT, true);
+		if (this.defaultsPending) {
+			this.defaultsPending = false;
+			performDefaults();
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (this.loadJob != null) {
+			this.loadJob.cancel();
+		}
+		super.dispose();
 	}
 
 	/**
-	 * Get checked items.
+	 * Get checked items in the order of the table.
 	 * @return
 	 */
 	private Object[] getCheckedItems() {
-		return this.pkgCfgViewer.getCheckedElements();
+		List<Object> items = new ArrayList<Object>(this.checked.size());
+		for (Object row : this.rows) {
+			if (this.checked.contains(row)) {
+				items.add(row);
+			}
+		}
+		return items.toArray();
+	}
+
+	/**
+	 * Set the check state of a package and update its row if it is shown.
+	 * 
+	 * @param element
+	 * @param state
+	 */
+	void setChecked(Object element, boolean state) {
+		if (state) {
+			this.checked.add(element);
+		} else {
+			this.checked.remove(element);
+		}
+		this.pkgCfgViewer.update(element, null);
 	}
 
 	/**
 	 * Action for the check state change.
+	 * The packages are resolved in the background and the settings are
+	 * updated when they are ready so that the UI doesn't wait for pkg-config.
 	 */
 	void handleCheckStateChange() {
+		if (!this.loaded) {
+			//the check states are not known before all the packages are added
+			return;
+		}
 		Object[] checkedItems = getCheckedItems();
 
 		//check if new items checked
@@ -156,30 +298,83 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 					this.newItems.add(o);
 				}
 			}
-			addPackageValues(this.newItems.toArray(), this.page.getProject());
 			this.reindexToggle = true;
 		}
 
 		saveChecked();
-		updateData(getResDesc());
+		resolveAndUpdate(toPackageNames(this.newItems.toArray()));
 		this.previouslyChecked = new HashSet<Object>(Arrays.asList(checkedItems));
 		this.newItems.clear();
 	}
 
+	/**
+	 * Get package names of table items.
+	 * 
+	 * @param items
+	 * @return Package names.
+	 */
+	private static String[] toPackageNames(Object[] items) {
+		String[] pkgs = new String[items.length];
+		for (int i=0; i<items.length; i++) {
+			pkgs[i] = items[i].toString();
+		}
+		return pkgs;
+	}
+
+	/**
+	 * Resolve the newly checked packages in the background, add their other
+	 * flags to Tools' Options and update the external settings once the flags
+	 * are cached. The flags of the other checked packages are already known
+	 * by the external setting provider.
+	 * 
+	 * @param added Names of the newly checked packages.
+	 */
+	private void resolveAndUpdate(String[] added) {
+		final IProject proj = this.page.getProject();
+		final ICResourceDescription resDesc = getResDesc();
+		final Composite comp = this.usercomp;
+		final Display display = comp.getDisplay();
+		Set<String> addedSet = new LinkedHashSet<String>(Arrays.asList(added));
+		if (this.pendingResolution != null && this.pendingResolution.cancel(true)) {
+			//the newly checked packages of the cancelled resolution are handled here
+			addedSet.addAll(Arrays.asList(this.pendingAdded));
+		}
+		this.pendingAdded = addedSet.toArray(new String[addedSet.size()]);
+		final String[] allAdded = this.pendingAdded;
+		this.pendingResolution = PkgConfigAsync.getFlagsOfEach(allAdded,
+				new ResolutionCallback<List<PkgConfigFlags>>() {
+			@Override
+			public void resolved(final List<PkgConfigFlags> flags) {
+				if (!display.isDisposed()) {
+					//Tools' Options and the build info are changed on the UI thread
+					display.asyncExec(new Runnable() {
+						@Override
+						public void run() {
+							if (flags != null && allAdded.length > 0) {
+								addPackageValues(allAdded, flags, proj);
+							}
+							if (!comp.isDisposed()) {
+								updateData(resDesc);
+							}
+						}
+					});
+				}
+			}
+		});
+	}
+
 	/**
 	 * Add new flags that the packages need to Tools' Options.
 	 * Only for other flags.
 	 * 
-	 * @param addedItems Object[]
+	 * @param pkgs Resolved packages.
+	 * @param flags Flags of the resolved packages.
 	 * @param proj IProject
 	 */
-	private static void addPackageValues(Object[] addedItems, IProject proj) {
-		for (Object item : addedItems) {
-			//handle options
-			String cflags = PkgConfigUtil.getCflags(item.toString());
-			String[] optionsArray = Parser.parseCflagOptions(cflags);
-			if (optionsArray!=null) {
-				for (String option : optionsArray) {
+	static void addPackageValues(String[] pkgs, List<PkgConfigFlags> flags, IProject proj) {
+		for (int i=0; i<pkgs.length; i++) {
+			if (flags.get(i) != null) {
+				for (String option : flags.get(i).getOtherFlags()) {
 					PathToToolOption.addOtherFlag(option, proj);
 				}
 			}
@@ -189,30 +384,32 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 
 	/**
 	 * Initializes the check state of the packages from the storage.
+	 * The stored packages are looked up from the sorted packages so that
+	 * the names of the other packages don't need to be decoded.
+	 * 
+	 * @param entries All the packages sorted by name.
 	 */
-	private void initializePackageStates() {
+	private void initializePackageStates(List<DataModel> entries) {
 		ICConfigurationDescription desc = getResDesc().getConfiguration();
-		ICStorageElement strgElem = null;
 		try {
-			strgElem = desc.getStorage(this.PACKAGES, true);
-			TableItem[] items = this.pkgCfgViewer.getTable().getItems();
-			String value = null;
-			for(TableItem item : items) {
+			ICStorageElement strgElem = desc.getStorage(this.PACKAGES, true);
+			for (String attr : strgElem.getAttributeNames()) {
+				if (!"true".equals(strgElem.getAttribute(attr))) { //$NON-NLS-1$
+					continue;
+				}
 				/*
 				 * The package names with + symbols were converted so that
 				 * + -> plus in order to prevent an error when saving to
 				 * ICStorageElement.
 				 */
-				if (item.getText().contains("+")) { //$NON-NLS-1$
-					String newItemName = item.getText().replace("+", "plus"); //$NON-NLS-1$ //$NON-NLS-2$
-					value = strgElem.getAttribute(newItemName);
-				} else {
-					value = strgElem.getAttribute(item.getText());
+				String pkgName = attr.replace("plus", "+"); //$NON-NLS-1$ //$NON-NLS-2$
+				DataModel dm = findPackage(entries, pkgName);
+				if (dm == null && !pkgName.equals(attr)) {
+					//the name may contain plus itself
+					dm = findPackage(entries, attr);
 				}
-				if(value!=null) {
-					if(value.equals("true")) { //$NON-NLS-1$
-						item.setChecked(true);
-					}
+				if (dm != null) {
+					this.checked.add(dm);
 				}
 			}
 		} catch (CoreException e) {
@@ -221,7 +418,45 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 	}
 
 	/**
-	 * Saves checked state of the packages.
+	 * Binary search a package from the packages sorted by name.
+	 * 
+	 * @param entries Packages sorted case-insensitively by name.
+	 * @param pkgName
+	 * @return Package or null if not found.
+	 */
+	private static DataModel findPackage(List<DataModel> entries, String pkgName) {
+		int low = 0;
+		int high = entries.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = String.CASE_INSENSITIVE_ORDER.compare(entries.get(mid).getPackage(), pkgName);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				//names that differ only by case are next to each other
+				for (int i = mid; i >= 0 && String.CASE_INSENSITIVE_ORDER.compare(
+						entries.get(i).getPackage(), pkgName) == 0; i--) {
+					if (entries.get(i).getPackage().equals(pkgName)) {
+						return entries.get(i);
+					}
+				}
+				for (int i = mid + 1; i < entries.size() && String.CASE_INSENSITIVE_ORDER.compare(
+						entries.get(i).getPackage(), pkgName) == 0; i++) {
+					if (entries.get(i).getPackage().equals(pkgName)) {
+						return entries.get(i);
+					}
+				}
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Saves checked state of the packages. Only the packages whose state
+	 * changed since the last save are written.
 	 */
 	private void saveChecked() { 
 		ICConfigurationDescription desc = getResDesc().getConfiguration();
@@ -232,45 +467,43 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 		} catch (CoreException e) {
 			Activator.getDefault().log(e, "Getting packages from the storage failed."); //$NON-NLS-1$
 		}
-		TableItem[] items = this.pkgCfgViewer.getTable().getItems();
-		for(TableItem item : items) {
-			if(item != null) {
-				String chkd;
-				//form literal form of boolean state
-				if(item.getChecked()) {
-					chkd = "true"; //$NON-NLS-1$
-				} else {
-					chkd = "false"; //$NON-NLS-1$
-				}
-				/*
-				 * add package name and the checkbox state
-				 * to the storage
-				 */
-				try {  
-					String pkgName = item.getText();
-					//need to convert + symbols to "plus"
-					if (pkgName.contains("+")) { //$NON-NLS-1$
-						String newPkgName = pkgName.replace("+", "plus"); //$NON-NLS-1$ //$NON-NLS-2$
-						if (strgElem!=null) {
-							strgElem.setAttribute(newPkgName, chkd);
-						}
-					} else {
-						if (strgElem!=null) {
-							strgElem.setAttribute(pkgName, chkd);
-						}
-					}
-				} catch (Exception e) {
-					Activator.getDefault().log(e, "Setting attribute to ICStorageElement failed."); //$NON-NLS-1$
-					//Seems like ICStorageElement cannot store Strings with +
-					/*
-					 * INVALID_CHARACTER_ERR: An invalid or
-					 * illegal XML character is specified. 
-					 */
-				}
+		if (strgElem == null) {
+			return;
+		}
+		for (Object row : this.checked) {
+			if (!this.previouslyChecked.contains(row)) {
+				saveState(strgElem, row, "true"); //$NON-NLS-1$
+			}
+		}
+		for (Object row : this.previouslyChecked) {
+			if (!this.checked.contains(row)) {
+				saveState(strgElem, row, "false"); //$NON-NLS-1$
 			}
 		}
 	}
 
+	/**
+	 * Add package name and the checkbox state to the storage.
+	 * 
+	 * @param strgElem
+	 * @param row
+	 * @param chkd Literal form of the boolean state.
+	 */
+	private static void saveState(ICStorageElement strgElem, Object row, String chkd) {
+		try {  
+			//need to convert + symbols to "plus"
+			String pkgName = row.toString().replace("+", "plus"); //$NON-NLS-1$ //$NON-NLS-2$
+			strgElem.setAttribute(pkgName, chkd);
+		} catch (Exception e) {
+			Activator.getDefault().log(e, "Setting attribute to ICStorageElement failed."); //$NON-NLS-1$
+			//Seems like ICStorageElement cannot store Strings with +
+			/*
+			 * INVALID_CHARACTER_ERR: An invalid or
+			 * illegal XML character is specified. 
+			 */
+		}
+	}
+
 	@Override
 	protected void performApply(ICResourceDescription src,
 			ICResourceDescription dst) {
@@ -279,8 +512,14 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 
 	@Override
 	protected void performDefaults() {
+		if (!this.loaded) {
+			//the batches still to come would check the stored packages again
+			this.defaultsPending = true;
+			return;
+		}
 		//uncheck every checkbox
-		this.pkgCfgViewer.setCheckedElements(new Object[] {});
+		this.checked.clear();
+		this.pkgCfgViewer.refresh();
 
 		//remove values from Tools Options
 		handleCheckStateChange();
@@ -329,6 +568,7 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 		};
 		j.setPriority(Job.INTERACTIVE);
 		j.schedule();
+		PkgConfigMetrics.getDefault().recordUpdateDataJob();
 
 		try {
 			CoreModel.getDefault().setProjectDescription(this.page.getProject(), projDesc);
@@ -345,10 +585,45 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 
 		@Override
 		public void checkStateChanged(CheckStateChangedEvent e) {
+			setChecked(e.getElement(), e.getChecked());
 			handleCheckStateChange();
 		}
 	}
 
+	/**
+	 * Give the table the package of a row.
+	 * 
+	 * @param index
+	 */
+	void replaceRow(int index) {
+		if (index < this.rows.size()) {
+			this.pkgCfgViewer.replace(this.rows.get(index), index);
+		}
+	}
+
+	/**
+	 * Content provider of the virtual table. A row is looked up only
+	 * when it becomes visible.
+	 *
+	 */
+	class LazyContentProvider implements ILazyContentProvider {
+
+		@Override
+		public void updateElement(int index) {
+			replaceRow(index);
+		}
+
+		@Override
+		public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+			//rows are read from the tab
+		}
+
+		@Override
+		public void dispose() {
+			//nothing to dispose
+		}
+	}
+
 	/**
 	 * Creates table columns, headers and sets the size of the columns.
 	 * 
@@ -406,8 +681,13 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 	 * 
 	 * @return
 	 */
-	private TableItem[] getSelected() {
-		TableItem[] selected = this.pkgCfgViewer.getTable().getSelection();
+	Object[] getSelected() {
+		//the indices don't need the items of the selected rows to be created
+		int[] indices = this.pkgCfgViewer.getTable().getSelectionIndices();
+		Object[] selected = new Object[indices.length];
+		for (int i=0; i<indices.length; i++) {
+			selected[i] = this.rows.get(indices[i]);
+		}
 		return selected;
 	}
 
@@ -433,9 +713,8 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 	 * Action for the Select button.
 	 */
 	private void selectedButtonPressed() {
-		TableItem[] selected = getSelected();
-		for (TableItem itm : selected) {
-			itm.setChecked(true);
+		for (Object element : getSelected()) {
+			setChecked(element, true);
 		}
 		handleCheckStateChange();
 	}
@@ -444,9 +723,8 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 	 * Action for the Deselect button.
 	 */
 	private void deselectedButtonPressed() {
-		TableItem[] selected = getSelected();
-		for (TableItem itm : selected) {
-			itm.setChecked(false);
+		for (Object element : getSelected()) {
+			setChecked(element, false);
 		}
 		handleCheckStateChange();
 	}
@@ -455,8 +733,12 @@ public class PkgConfigPropertyTab extends AbstractCPropertyTab {
 	 * Rebuilts the index of the selected project in the workspace.
 	 */
 	private void rebuiltIndex() {
-		ICProject cproject = CoreModel.getDefault().getCModel().getCProject(this.page.getProject().getName());
+		Object event = FlightRecorderEvents.REINDEX.begin();
+		String name = this.page.getProject().getName();
+		ICProject cproject = CoreModel.getDefault().getCModel().getCProject(name);
 		CCorePlugin.getIndexManager().reindex(cproject);
+		//the indexer runs in the background, only the request is timed
+		FlightRecorderEvents.REINDEX.commit(event, name);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.core.settings.model.ICStorageElement;
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Registry of the checked packages of each configuration. An immutable
+ * snapshot of a project is replaced whenever its description is loaded
+ * or applied so that reading the checked packages needs neither locking
+ * nor walking the storage element.
+ *
+ */
+public class CheckedPackages {
+
+	private static final String PACKAGES = "packages"; //$NON-NLS-1$
+	static final String[] NONE = new String[0];
+
+	//snapshots by project name
+	private static final ConcurrentMap<String, Snapshot> projects =
+			new ConcurrentHashMap<String, Snapshot>();
+
+	/**
+	 * Get the checked packages of the active configuration of a project.
+	 *
+	 * @param proj
+	 * @return Package names. The array is shared and must not be modified.
+	 */
+	public static String[] get(IProject proj) {
+		return getSnapshot(proj).active;
+	}
+
+	/**
+	 * Get the checked packages of a configuration.
+	 *
+	 * @param proj
+	 * @param cfgId Configuration id.
+	 * @return Package names. The array is shared and must not be modified.
+	 */
+	public static String[] get(IProject proj, String cfgId) {
+		String[] pkgs = getSnapshot(proj).configurations.get(cfgId);
+		return pkgs != null ? pkgs : NONE;
+	}
+
+	private static Snapshot getSnapshot(IProject proj) {
+		Snapshot snapshot = projects.get(proj.getName());
+		if (snapshot == null) {
+			//not loaded or applied since the plug-in was started
+			ICProjectDescription desc = CoreModel.getDefault().getProjectDescription(proj, false);
+			if (desc == null) {
+				return Snapshot.EMPTY;
+			}
+			Snapshot newSnapshot = new Snapshot(desc);
+			snapshot = projects.putIfAbsent(proj.getName(), newSnapshot);
+			if (snapshot == null) {
+				snapshot = newSnapshot;
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Replace the snapshot of a project.
+	 *
+	 * @param proj
+	 * @param desc Project description that was loaded or applied.
+	 */
+	public static void update(IProject proj, ICProjectDescription desc) {
+		projects.put(proj.getName(), new Snapshot(desc));
+	}
+
+	/**
+	 * Forget a project, e.g. when it is closed or deleted.
+	 *
+	 * @param proj
+	 */
+	public static void remove(IProject proj) {
+		projects.remove(proj.getName());
+	}
+
+	/**
+	 * Read the checked packages of a configuration from its storage.
+	 *
+	 * @param cfg
+	 * @return Package names.
+	 */
+	static String[] read(ICConfigurationDescription cfg) {
+		ICStorageElement pkgStorage;
+		try {
+			pkgStorage = cfg.getStorage(PACKAGES, false);
+		} catch (CoreException e) {
+			Activator.getDefault().log(e, "Getting packages from the storage failed."); //$NON-NLS-1$
+			return NONE;
+		}
+		if (pkgStorage == null) {
+			return NONE;
+		}
+		List<String> pkgs = new ArrayList<String>();
+		for (String pkgName : pkgStorage.getAttributeNames()) {
+			if ("true".equals(pkgStorage.getAttribute(pkgName))) { //$NON-NLS-1$
+				/*
+				 * replace + symbols, because + symbols in package names
+				 * had to be replaced when storing them to
+				 * ICStorageElement to prevent error
+				 */
+				pkgs.add(pkgName.replace("plus", "+")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return pkgs.toArray(new String[pkgs.size()]);
+	}
+
+	/**
+	 * Checked packages of the configurations of a project.
+	 *
+	 */
+	static class Snapshot {
+
+		static final Snapshot EMPTY = new Snapshot();
+
+		final String[] active;
+		final Map<String, String[]> configurations;
+
+		private Snapshot() {
+			this.active = NONE;
+			this.configurations = Collections.emptyMap();
+		}
+
+		Snapshot(ICProjectDescription desc) {
+			Map<String, String[]> cfgs = new HashMap<String, String[]>();
+			for (ICConfigurationDescription cfg : desc.getConfigurations()) {
+				cfgs.put(cfg.getId(), read(cfg));
+			}
+			ICConfigurationDescription activeCfg = desc.getActiveConfiguration();
+			String[] activePkgs = activeCfg != null ? cfgs.get(activeCfg.getId()) : null;
+			this.active = activePkgs != null ? activePkgs : NONE;
+			this.configurations = Collections.unmodifiableMap(cfgs);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.settings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigFlags;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.ResolutionCache;
+
+/**
+ * Flags contributed by each checked package of a project. When the checked
+ * packages change only the newly checked packages are resolved and the flags
+ * of the unchecked ones are dropped. The flags of the other packages are
+ * reused until they may have become out of date.
+ *
+ */
+class PackageContributions {
+
+	private final Map<String, PkgConfigFlags> contributions = new HashMap<String, PkgConfigFlags>();
+	private int generation = PkgConfigUtil.getGeneration();
+
+	/**
+	 * Get the merged flags of the checked packages.
+	 *
+	 * @param pkgs Names of the checked packages.
+	 * @return Flags.
+	 */
+	synchronized PkgConfigFlags getFlags(String[] pkgs) {
+		if (this.generation != PkgConfigUtil.getGeneration()) {
+			this.contributions.clear();
+			this.generation = PkgConfigUtil.getGeneration();
+		}
+		Set<String> checked = new HashSet<String>();
+		List<String> added = new ArrayList<String>();
+		for (String pkg : pkgs) {
+			if (checked.add(pkg) && !isUpToDate(pkg)) {
+				added.add(pkg);
+			}
+		}
+		//drop the unchecked packages
+		this.contributions.keySet().retainAll(checked);
+		if (!added.isEmpty()) {
+			String[] addedPkgs = added.toArray(new String[added.size()]);
+			List<PkgConfigFlags> flags = PkgConfigUtil.getFlagsOfEach(addedPkgs, null);
+			for (int i=0; i<addedPkgs.length; i++) {
+				//failed packages are retried the next time
+				if (flags.get(i) != null) {
+					this.contributions.put(addedPkgs[i], flags.get(i));
+				}
+			}
+		}
+		List<PkgConfigFlags> flags = new ArrayList<PkgConfigFlags>(pkgs.length);
+		for (String pkg : pkgs) {
+			flags.add(this.contributions.get(pkg));
+		}
+		return PkgConfigUtil.mergeFlags(pkgs, flags);
+	}
+
+	/**
+	 * Check if the flags of a package are known and up to date. With the
+	 * built-in resolver the resolution cache tells if any of the .pc files
+	 * has changed. Packages it doesn't know are resolved again, which finds
+	 * them in the output cache.
+	 *
+	 * @param pkg
+	 * @return True if the package doesn't need to be resolved.
+	 */
+	private boolean isUpToDate(String pkg) {
+		if (!this.contributions.containsKey(pkg)) {
+			return false;
+		}
+		return !PkgConfigUtil.isBuiltinResolverUsed() || ResolutionCache.get(pkg) != null;
+	}
+
+}
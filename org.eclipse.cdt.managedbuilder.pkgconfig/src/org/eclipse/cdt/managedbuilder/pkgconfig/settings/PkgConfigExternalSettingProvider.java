@@ -11,7 +11,10 @@
 package org.eclipse.cdt.managedbuilder.pkgconfig.settings;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.settings.model.CExternalSetting;
@@ -25,14 +28,12 @@ import org.eclipse.cdt.core.settings.model.ICLanguageSetting;
 import org.eclipse.cdt.core.settings.model.ICLanguageSettingEntry;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.core.settings.model.ICSettingEntry;
-import org.eclipse.cdt.core.settings.model.ICStorageElement;
 import org.eclipse.cdt.core.settings.model.extension.CExternalSettingProvider;
-import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
-import org.eclipse.cdt.managedbuilder.pkgconfig.util.Parser;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.FlightRecorderEvents;
 import org.eclipse.cdt.managedbuilder.pkgconfig.util.PathToToolOption;
-import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigFlags;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigMetrics;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
@@ -45,16 +46,23 @@ import org.eclipse.core.runtime.jobs.Job;
 public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 
 	public static final String ID = "org.eclipse.cdt.managedbuilder.pkgconfig.extSettings"; //$NON-NLS-1$
-	private final static String PACKAGES = "packages"; //$NON-NLS-1$
+	//flags of the checked packages of each configuration by project name and configuration id
+	private final static ConcurrentMap<String, PackageContributions> contributions =
+			new ConcurrentHashMap<String, PackageContributions>();
+	//project names cannot contain a slash
+	private static final char KEY_SEPARATOR = '/';
 	
 	@Override
 	public CExternalSetting[] getSettings(IProject proj,
 			ICConfigurationDescription cfg) {
         
 		if (proj != null) {
-			ICSettingEntry[] includes = getEntries(proj, ICSettingEntry.INCLUDE_PATH);
-			ICSettingEntry[] libFiles = getEntries(proj, ICSettingEntry.LIBRARY_FILE); 
-			ICSettingEntry[] libPaths = getEntries(proj, ICSettingEntry.LIBRARY_PATH); 
+			long start = System.nanoTime();
+			Object event = FlightRecorderEvents.SETTINGS.begin();
+			PkgConfigFlags flags = getFlagsFromCheckedPackages(proj, cfg);
+			ICSettingEntry[] includes = getEntries(proj, cfg, ICSettingEntry.INCLUDE_PATH, flags);
+			ICSettingEntry[] libFiles = getEntries(proj, cfg, ICSettingEntry.LIBRARY_FILE, flags); 
+			ICSettingEntry[] libPaths = getEntries(proj, cfg, ICSettingEntry.LIBRARY_PATH, flags); 
 			
 			CExternalSetting includeSettings = new CExternalSetting(null, new String[] {
 					"org.eclipse.cdt.core.cSource", "org.eclipse.cdt.core.cxxSource" }, null, includes); //$NON-NLS-1$ //$NON-NLS-2$
@@ -67,37 +75,49 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 					new CExternalSetting(null, new String[] {
 					"org.eclipse.cdt.managedbuilder.core.compiledObjectFile" }, null, libPaths); //$NON-NLS-1$
 			
-			addOtherFlagsToTools(proj);
+			addOtherFlagsToTools(proj, flags.getOtherFlags());
 			
+			PkgConfigMetrics.getDefault().recordSettings(proj.getName(), System.nanoTime() - start,
+					count(includes), count(libFiles), count(libPaths));
+			FlightRecorderEvents.SETTINGS.commit(event, proj.getName(),
+					cfg != null ? cfg.getName() : null, Integer.valueOf(count(includes)),
+					Integer.valueOf(count(libFiles)), Integer.valueOf(count(libPaths)));
 			return new CExternalSetting[] { includeSettings, libraryFileSettings, libraryPathSettings };
 		}
 		return new CExternalSetting[] { };
 	}
 
+	private static int count(ICSettingEntry[] entries) {
+		return entries != null ? entries.length : 0;
+	}
+
 	/**
 	 * Get language setting entries for given ICSettingEntry.
 	 * @param proj
+	 * @param cfg Configuration or null for the active configuration
 	 * @param settingEntry
+	 * @param flags Flags of the checked packages
 	 * @return
 	 */
-	private static ICLanguageSettingEntry[] getEntries(IProject proj, int settingEntry) {
-		String[] values = null;
+	private static ICLanguageSettingEntry[] getEntries(IProject proj, ICConfigurationDescription cfg,
+			int settingEntry, PkgConfigFlags flags) {
+		List<String> values = null;
 		ICLanguageSettingEntry[] newEntries = null;
-		ICLanguageSetting lang = getGCCLanguageSetting(proj);
+		ICLanguageSetting lang = getGCCLanguageSetting(proj, cfg);
 		if (lang!=null) {
 			switch (settingEntry) {
 			case ICSettingEntry.INCLUDE_PATH:
-				values = getIncludePathsFromCheckedPackages(proj);
+				values = flags.getIncludePaths();
 				newEntries = formIncludePathEntries(values);
 				lang.setSettingEntries(ICSettingEntry.INCLUDE_PATH, newEntries);
 				break;
 			case ICSettingEntry.LIBRARY_FILE:
-				values = getLibraryFilesFromCheckedPackages(proj);
+				values = flags.getLibFiles();
 				newEntries = formLibraryFileEntries(values);
 				lang.setSettingEntries(ICSettingEntry.LIBRARY_FILE, newEntries);
 				break;
 			case ICSettingEntry.LIBRARY_PATH:
-				values = getLibraryPathsFromCheckedPackages(proj);
+				values = flags.getLibPaths();
 				newEntries = formLibraryPathEntries(values);
 				lang.setSettingEntries(ICSettingEntry.LIBRARY_PATH, newEntries);
 				break;
@@ -111,11 +131,13 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	/**
 	 * Get language settings for given project and language id.
 	 * @param proj
+	 * @param cfg Configuration or null for the active configuration
 	 * @param languageId
 	 * @return
 	 */
-	private static ICLanguageSetting getLanguageSetting(IProject proj, String languageId) {
-		ICLanguageSetting[] langSettings = getLanguageSettings(proj);
+	private static ICLanguageSetting getLanguageSetting(IProject proj, ICConfigurationDescription cfg,
+			String languageId) {
+		ICLanguageSetting[] langSettings = getLanguageSettings(proj, cfg);
 		ICLanguageSetting lang = null;
 		for (ICLanguageSetting langSetting : langSettings) {
 			String id = langSetting.getLanguageId();
@@ -130,14 +152,18 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	}
 	
 	/**
-	 * Get language settings for the given project.
+	 * Get language settings for the given configuration.
 	 * @param proj
+	 * @param cfg Configuration or null for the active configuration
 	 * @return
 	 */
-	private static ICLanguageSetting[] getLanguageSettings(IProject proj) {
-		ICProjectDescription projectDescription = CoreModel.getDefault().getProjectDescription(proj);
-		ICConfigurationDescription activeConf = projectDescription.getActiveConfiguration();
-		ICFolderDescription folderDesc = activeConf.getRootFolderDescription(); 
+	private static ICLanguageSetting[] getLanguageSettings(IProject proj, ICConfigurationDescription cfg) {
+		ICConfigurationDescription conf = cfg;
+		if (conf == null) {
+			ICProjectDescription projectDescription = CoreModel.getDefault().getProjectDescription(proj);
+			conf = projectDescription.getActiveConfiguration();
+		}
+		ICFolderDescription folderDesc = conf.getRootFolderDescription(); 
 		ICLanguageSetting[] langSettings = folderDesc.getLanguageSettings();
 		return langSettings;
 	}
@@ -145,18 +171,19 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	/**
 	 * Get language settings for C projects.
 	 * @param proj
+	 * @param cfg Configuration or null for the active configuration
 	 * @return
 	 */
-	private static ICLanguageSetting getGCCLanguageSetting(IProject proj) {
-		return getLanguageSetting(proj, "org.eclipse.cdt.core.gcc"); //$NON-NLS-1$
+	private static ICLanguageSetting getGCCLanguageSetting(IProject proj, ICConfigurationDescription cfg) {
+		return getLanguageSetting(proj, cfg, "org.eclipse.cdt.core.gcc"); //$NON-NLS-1$
 	}
 	
 	/**
-	 * Form ICIncludePathEntry array from include path String array.
+	 * Form ICIncludePathEntry array from include path String list.
 	 * @param includes
 	 * @return
 	 */
-	private static ICLanguageSettingEntry[] formIncludePathEntries(String[] includes) {
+	private static ICLanguageSettingEntry[] formIncludePathEntries(List<String> includes) {
 		ArrayList<ICLanguageSettingEntry> incPathEntries = new ArrayList<ICLanguageSettingEntry>();
 		for(String inc : includes) {
 			ICIncludePathEntry incPathEntry = new CIncludePathEntry(new Path(inc),
@@ -167,11 +194,11 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	}
 	
 	/**
-	 * Form CLibraryFileEntry array from library file String array.
+	 * Form CLibraryFileEntry array from library file String list.
 	 * @param libs
 	 * @return
 	 */
-	private static ICLanguageSettingEntry[] formLibraryFileEntries(String[] libs) {
+	private static ICLanguageSettingEntry[] formLibraryFileEntries(List<String> libs) {
 		ArrayList<ICLanguageSettingEntry> libEntries = new ArrayList<ICLanguageSettingEntry>();
 		for(String lib : libs) {
 			CLibraryFileEntry libFileEntry = new CLibraryFileEntry(lib,
@@ -182,11 +209,11 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	}
 	
 	/**
-	 * Form CLibraryPathEntry array from library path String array.
+	 * Form CLibraryPathEntry array from library path String list.
 	 * @param libPaths
 	 * @return
 	 */
-	private static ICLanguageSettingEntry[] formLibraryPathEntries(String[] libPaths) {
+	private static ICLanguageSettingEntry[] formLibraryPathEntries(List<String> libPaths) {
 		ArrayList<ICLanguageSettingEntry> libPathEntries = new ArrayList<ICLanguageSettingEntry>();
 		for(String libPath : libPaths) {
 			CLibraryPathEntry libPathEntry = new CLibraryPathEntry(new Path(libPath),
@@ -197,94 +224,58 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 	}
 	
 	/**
-	 * Get include paths from the checked packages.
-	 * @param proj
-	 * @return
-	 */
-	private static String[] getIncludePathsFromCheckedPackages(IProject proj) {
-		ArrayList<String> includeList = new ArrayList<String>();
-		String[] pkgs = getCheckedPackageNames(proj);
-		String cflags = null;
-		String[] includeArray = null;
-		for (String pkg : pkgs) {
-			cflags = PkgConfigUtil.getCflags(pkg);
-			includeArray = Parser.parseIncPaths(cflags);
-			if (includeArray!=null) {
-				Collections.addAll(includeList, includeArray);
-			}
-		}
-		return includeList.toArray(new String[includeList.size()]);
-	}
-	
-	/**
-	 * Get library files from the checked packages.
+	 * Get compiler and linker flags from the checked packages.
+	 * Only the packages checked since the previous call are resolved,
+	 * concurrently with a single pkg-config call each. Flags shared by
+	 * several packages are merged only once and paths are canonicalized
+	 * before they are turned into setting entries.
 	 * @param proj
+	 * @param cfg Configuration or null for the active configuration
 	 * @return
 	 */
-	private static String[] getLibraryFilesFromCheckedPackages(IProject proj) {
-		ArrayList<String> libList = new ArrayList<String>();
-		String[] pkgs = getCheckedPackageNames(proj);
-		String libs = null;
-		String[] libArray = null;
-		for (String pkg : pkgs) {
-			libs = PkgConfigUtil.getLibFilesOnly(pkg);
-			libArray = Parser.parseLibs2(libs);
-			if (libArray!=null) {
-				Collections.addAll(libList, libArray);
-			}
+	private static PkgConfigFlags getFlagsFromCheckedPackages(IProject proj, ICConfigurationDescription cfg) {
+		String[] pkgs;
+		String key;
+		if (cfg != null) {
+			pkgs = CheckedPackages.get(proj, cfg.getId());
+			key = proj.getName() + KEY_SEPARATOR + cfg.getId();
+		} else {
+			pkgs = CheckedPackages.get(proj);
+			key = proj.getName() + KEY_SEPARATOR;
 		}
-		return libList.toArray(new String[libList.size()]);
-	}
-	
-	/**
-	 * Get library paths from the checked packages.
-	 * @param proj
-	 * @return
-	 */
-	private static String[] getLibraryPathsFromCheckedPackages(IProject proj) {
-		ArrayList<String> libPathList = new ArrayList<String>();
-		String[] pkgs = getCheckedPackageNames(proj);
-		String libPaths = null;
-		String[] libPathArray = null;
-		for (String pkg : pkgs) {
-			libPaths = PkgConfigUtil.getLibPathsOnly(pkg);
-			libPathArray = Parser.parseLibPaths2(libPaths);
-			if (libPathArray!=null) {
-				Collections.addAll(libPathList, libPathArray);
+		PackageContributions projContributions = contributions.get(key);
+		if (projContributions == null) {
+			PackageContributions newContributions = new PackageContributions();
+			projContributions = contributions.putIfAbsent(key, newContributions);
+			if (projContributions == null) {
+				projContributions = newContributions;
 			}
 		}
-		return libPathList.toArray(new String[libPathList.size()]);
+		return projContributions.getFlags(pkgs);
 	}
 	
 	/**
-	 * Get other flags from the checked packages.
+	 * Forget the flags of a project, e.g. when it is closed or deleted.
 	 * @param proj
-	 * @return
 	 */
-	static String[] getOtherFlagsFromCheckedPackages(IProject proj) {
-		ArrayList<String> otherFlagList = new ArrayList<String>();
-		String[] pkgs = getCheckedPackageNames(proj);
-		String cflags = null;
-		String[] otherFlagArray = null;
-		for (String pkg : pkgs) {
-			cflags = PkgConfigUtil.getCflags(pkg);
-			otherFlagArray = Parser.parseCflagOptions(cflags);
-			if (otherFlagArray!=null) {
-				Collections.addAll(otherFlagList, otherFlagArray);
+	static void removeContributions(IProject proj) {
+		String prefix = proj.getName() + KEY_SEPARATOR;
+		for (Iterator<String> it = contributions.keySet().iterator(); it.hasNext();) {
+			if (it.next().startsWith(prefix)) {
+				it.remove();
 			}
 		}
-		return otherFlagList.toArray(new String[otherFlagList.size()]);
 	}
 	
 	/**
 	 * Add other flags to Tool's Option.
 	 * @param proj
+	 * @param flags Other flags of the checked packages
 	 */
-	private static void addOtherFlagsToTools(final IProject proj) {
+	private static void addOtherFlagsToTools(final IProject proj, final String[] flags) {
 		Job j = new Job("Add other flags") { //$NON-NLS-1$
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
-				String[] flags = getOtherFlagsFromCheckedPackages(proj);
 				for (String flag : flags) {
 					PathToToolOption.addOtherFlag(flag, proj);
 				}
@@ -293,58 +284,7 @@ public class PkgConfigExternalSettingProvider extends CExternalSettingProvider {
 		};
 		j.setPriority(Job.INTERACTIVE);
 		j.schedule();
+		PkgConfigMetrics.getDefault().recordOtherFlagsJob();
 	}
 
-	/**
-	 * Get a storage element which stores the checked packages.
-	 * @param proj
-	 * @return
-	 */
-	private static ICStorageElement getPackageStorage(IProject proj) {
-		try {
-			ICProjectDescription projectDescription = CoreModel.getDefault().getProjectDescription(proj);
-			ICConfigurationDescription activeConf = projectDescription.getActiveConfiguration();
-			ICConfigurationDescription desc = activeConf.getConfiguration();
-			ICStorageElement strgElem = null;
-			try {
-				strgElem = desc.getStorage(PACKAGES, true);
-				return strgElem;
-			} catch (CoreException e) {
-				Activator.getDefault().log(e, "Getting packages from the storage failed."); //$NON-NLS-1$
-			}
-		} catch (NullPointerException e) {
-			Activator.getDefault().log(e, "Getting project description failed."); //$NON-NLS-1$
-		}
-		return null;
-	}
-	
-	/**
-	 * Get names of the checked packages.
-	 * @param proj
-	 * @return
-	 */
-	private static String[] getCheckedPackageNames(IProject proj) {
-		ICStorageElement pkgStorage = getPackageStorage(proj);
-		String[] pkgNames = pkgStorage.getAttributeNames();
-		ArrayList<String> pkgs = new ArrayList<String>();
-		String value = null;
-		for(String pkgName : pkgNames) {
-			value = pkgStorage.getAttribute(pkgName);
-			if(value!=null) {
-				if(value.equals("true")) { //$NON-NLS-1$
-					/*
-					 * replace + symbols, because + symbols in package names
-					 * had to be replaced when storing them to
-					 * ICStorageElement to prevent error
-					 */
-					if (pkgName.contains("plus")) { //$NON-NLS-1$
-						pkgName = pkgName.replace("plus", "+"); //$NON-NLS-1$ //$NON-NLS-2$
-					}
-					pkgs.add(pkgName);
-				}
-			}
-		}
-		return pkgs.toArray(new String[pkgs.size()]);
-	}
-	
 }
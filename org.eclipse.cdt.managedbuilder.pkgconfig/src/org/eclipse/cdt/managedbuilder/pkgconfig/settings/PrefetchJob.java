@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.settings;
+
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.managedbuilder.pkgconfig.properties.DataModelProvider;
+import org.eclipse.cdt.managedbuilder.pkgconfig.util.PkgConfigUtil;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Warms the caches in the background after the plug-in has started:
+ * loads the package list of the property tab and resolves the checked
+ * packages of every open C/C++ project into the resolution cache, so
+ * that neither the first open of the property tab nor the first
+ * getSettings call of a project has to wait for pkg-config.
+ *
+ * The job is a system job with the lowest priority and it is cancelled
+ * when the plug-in stops. It steps aside between the projects whenever
+ * other jobs are running and continues later.
+ *
+ */
+public class PrefetchJob extends Job {
+
+	/**
+	 * Delay before the job runs in milliseconds. Lets the workbench
+	 * finish starting first.
+	 */
+	public static final long START_DELAY = 5000;
+
+	/**
+	 * Longest time in milliseconds the plug-in waits for the job
+	 * to finish when it stops.
+	 */
+	public static final long STOP_TIMEOUT = 2000;
+
+	//delay before trying again when other jobs are running
+	private static final long BUSY_DELAY = 10000;
+
+	/**
+	 * Constructor.
+	 */
+	public PrefetchJob() {
+		super("Prefetch pkg-config packages"); //$NON-NLS-1$
+		setSystem(true);
+		setPriority(Job.DECORATE);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		try {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			DataModelProvider.INSTANCE.getEntries();
+			for (IProject proj : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (!proj.isOpen() || !CoreModel.hasCNature(proj)) {
+					continue;
+				}
+				if (isOtherJobRunning()) {
+					//the projects done so far are cache hits on the next run
+					schedule(BUSY_DELAY);
+					return Status.OK_STATUS;
+				}
+				String[] pkgs = CheckedPackages.get(proj);
+				if (pkgs.length > 0) {
+					//resolved flags go to the resolution and output caches
+					PkgConfigUtil.getFlagsOfEach(pkgs, monitor);
+				}
+			}
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Check if any other job is running. The job manager is never idle
+	 * while this job runs so the running jobs are looked up instead.
+	 *
+	 * @return True if another job is running.
+	 */
+	private boolean isOtherJobRunning() {
+		for (Job job : Job.getJobManager().find(null)) {
+			if (job != this && job.getState() == Job.RUNNING) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
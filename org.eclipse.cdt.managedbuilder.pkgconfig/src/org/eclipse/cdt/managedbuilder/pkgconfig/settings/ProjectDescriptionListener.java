@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.settings;
+
+import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
+import org.eclipse.core.resources.IProject;
+
+/**
+ * Keeps the registry of checked packages in sync with the project
+ * descriptions that are loaded or applied.
+ *
+ */
+public class ProjectDescriptionListener implements ICProjectDescriptionListener {
+
+	/**
+	 * Events the listener is registered for.
+	 */
+	public static final int EVENT_TYPES = CProjectDescriptionEvent.LOADED
+			| CProjectDescriptionEvent.APPLIED;
+
+	@Override
+	public void handleEvent(CProjectDescriptionEvent event) {
+		IProject proj = event.getProject();
+		if (proj == null) {
+			return;
+		}
+		ICProjectDescription desc = event.getNewCProjectDescription();
+		if (desc != null) {
+			CheckedPackages.update(proj, desc);
+		} else {
+			CheckedPackages.remove(proj);
+			PkgConfigExternalSettingProvider.removeContributions(proj);
+		}
+	}
+
+}
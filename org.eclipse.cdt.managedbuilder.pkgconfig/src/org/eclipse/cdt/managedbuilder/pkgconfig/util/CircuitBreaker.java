@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+/**
+ * Stops calls to a failing resource. The breaker opens after a number
+ * of consecutive failures and rejects calls until it is reset or the
+ * retry interval has passed, after which one trial call is let through.
+ * Thread-safe.
+ *
+ */
+public class CircuitBreaker {
+
+	private final int threshold;
+	private final long retryInterval;
+
+	private int failures;
+	private long openedAt;
+	private boolean open;
+	private long rejected;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param threshold Number of consecutive failures that opens the breaker.
+	 * @param retryInterval Time in milliseconds after which an open breaker
+	 * lets a trial call through.
+	 */
+	public CircuitBreaker(int threshold, long retryInterval) {
+		this.threshold = threshold;
+		this.retryInterval = retryInterval;
+	}
+
+	/**
+	 * Check if a call may be made.
+	 *
+	 * @return False if the breaker is open.
+	 */
+	public synchronized boolean allowCall() {
+		if (!this.open) {
+			return true;
+		}
+		long now = System.currentTimeMillis();
+		if (now - this.openedAt >= this.retryInterval) {
+			//let one call through, a failure opens the breaker again
+			this.openedAt = now;
+			return true;
+		}
+		this.rejected++;
+		return false;
+	}
+
+	/**
+	 * Record a successful call. Closes the breaker.
+	 */
+	public synchronized void recordSuccess() {
+		this.failures = 0;
+		this.open = false;
+	}
+
+	/**
+	 * Record a failed call.
+	 *
+	 * @return True if this failure opened the breaker.
+	 */
+	public synchronized boolean recordFailure() {
+		this.failures++;
+		if (!this.open && this.failures >= this.threshold) {
+			this.open = true;
+			this.openedAt = System.currentTimeMillis();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Close the breaker and forget the failures.
+	 */
+	public synchronized void reset() {
+		this.failures = 0;
+		this.open = false;
+	}
+
+	/**
+	 * Check if the breaker is open.
+	 *
+	 * @return True if calls are rejected.
+	 */
+	public synchronized boolean isOpen() {
+		return this.open;
+	}
+
+	/**
+	 * Get the number of calls rejected so far.
+	 *
+	 * @return Rejected calls.
+	 */
+	public synchronized long getRejectedCount() {
+		return this.rejected;
+	}
+
+}
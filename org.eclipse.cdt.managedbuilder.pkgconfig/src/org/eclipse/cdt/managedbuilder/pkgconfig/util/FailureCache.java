@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers failed resolutions for a short time so that a missing or
+ * broken package is not resolved again on every request. Thread-safe.
+ *
+ */
+public class FailureCache {
+
+	private final long ttl;
+	private final int maxSize;
+	private final Map<String, Entry> map = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param ttl Time to live of the entries in milliseconds.
+	 * @param maxSize Maximum number of entries.
+	 */
+	public FailureCache(long ttl, int maxSize) {
+		this.ttl = ttl;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get a failure that has not expired.
+	 *
+	 * @param key
+	 * @return Failed result or null.
+	 */
+	public ProcessResult get(String key) {
+		Entry entry = this.map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expires <= System.currentTimeMillis()) {
+			this.map.remove(key);
+			return null;
+		}
+		return entry.result;
+	}
+
+	/**
+	 * Remember a failure.
+	 *
+	 * @param key
+	 * @param result
+	 */
+	public void put(String key, ProcessResult result) {
+		long now = System.currentTimeMillis();
+		if (this.map.size() >= this.maxSize) {
+			removeExpired(now);
+			if (this.map.size() >= this.maxSize) {
+				//failures are cheap to rediscover
+				this.map.clear();
+			}
+		}
+		this.map.put(key, new Entry(result, now + this.ttl));
+	}
+
+	private void removeExpired(long now) {
+		for (Iterator<Entry> it = this.map.values().iterator(); it.hasNext();) {
+			if (it.next().expires <= now) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Forget all failures.
+	 */
+	public void clear() {
+		this.map.clear();
+	}
+
+	/**
+	 * Get the number of remembered failures including expired ones.
+	 *
+	 * @return Size.
+	 */
+	public int size() {
+		return this.map.size();
+	}
+
+	static class Entry {
+
+		final ProcessResult result;
+		final long expires;
+
+		Entry(ProcessResult result, long expires) {
+			this.result = result;
+			this.expires = expires;
+		}
+	}
+
+}
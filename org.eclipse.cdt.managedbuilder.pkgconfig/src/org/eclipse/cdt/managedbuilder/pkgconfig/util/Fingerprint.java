@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modification times and sizes of the files and directories a result
+ * was computed from. The result is out of date as soon as any of them
+ * changes. Modification time of a directory changes when .pc files are
+ * added to or removed from it.
+ *
+ */
+public class Fingerprint {
+
+	private final List<String> paths = new ArrayList<String>();
+	private final List<Long> lastModified = new ArrayList<Long>();
+	private final List<Long> lengths = new ArrayList<Long>();
+
+	/**
+	 * Create a fingerprint of the search path directories and
+	 * the .pc files of a resolution.
+	 *
+	 * @param searchPath
+	 * @param files
+	 * @return Fingerprint.
+	 */
+	public static Fingerprint of(List<String> searchPath, List<PcFile> files) {
+		Fingerprint fingerprint = new Fingerprint();
+		for (String dir : searchPath) {
+			fingerprint.add(new File(dir));
+		}
+		for (PcFile file : files) {
+			fingerprint.add(file.getFile());
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Record modification time and size of a file or a directory.
+	 *
+	 * @param file
+	 */
+	void add(File file) {
+		this.paths.add(file.getPath());
+		this.lastModified.add(Long.valueOf(file.lastModified()));
+		this.lengths.add(Long.valueOf(file.isDirectory() ? 0 : file.length()));
+	}
+
+	/**
+	 * Check that none of the files or directories has changed.
+	 *
+	 * @return True if valid.
+	 */
+	public boolean isValid() {
+		for (int i = 0; i < this.paths.size(); i++) {
+			File file = new File(this.paths.get(i));
+			long length = file.isDirectory() ? 0 : file.length();
+			if (file.lastModified() != this.lastModified.get(i).longValue()
+					|| length != this.lengths.get(i).longValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static Fingerprint read(DataInputStream in) throws IOException {
+		Fingerprint fingerprint = new Fingerprint();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			fingerprint.paths.add(in.readUTF());
+			fingerprint.lastModified.add(Long.valueOf(in.readLong()));
+			fingerprint.lengths.add(Long.valueOf(in.readLong()));
+		}
+		return fingerprint;
+	}
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(this.paths.size());
+		for (int i = 0; i < this.paths.size(); i++) {
+			out.writeUTF(this.paths.get(i));
+			out.writeLong(this.lastModified.get(i).longValue());
+			out.writeLong(this.lengths.get(i).longValue());
+		}
+	}
+
+}
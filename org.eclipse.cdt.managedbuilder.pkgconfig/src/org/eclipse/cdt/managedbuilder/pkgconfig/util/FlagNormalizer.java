@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Normalizes flags before they are turned into CDT setting entries.
+ *
+ * Include and library paths are canonicalized lexically, e.g. "a/./b/../c/"
+ * becomes "a/c", without looking at the file system. Duplicate paths and
+ * defines are removed keeping their first occurrence and duplicate libraries
+ * keeping their last occurrence, so that a library stays after the ones that
+ * depend on it. Other flags are kept as they are since their meaning may
+ * depend on the flag next to them. The order of the input is preserved
+ * otherwise, so the same flags always give the same output.
+ *
+ */
+public class FlagNormalizer {
+
+	private static final String CURRENT_DIR = "."; //$NON-NLS-1$
+	private static final String PARENT_DIR = ".."; //$NON-NLS-1$
+
+	/**
+	 * Normalize flags.
+	 *
+	 * @param flags
+	 * @return Normalized flags.
+	 */
+	public static PkgConfigFlags normalize(PkgConfigFlags flags) {
+		return new PkgConfigFlags(
+				keepFirst(canonicalizePaths(flags.getIncludePaths())),
+				keepFirst(flags.getDefines()),
+				flags.getOtherCflags(),
+				keepFirst(canonicalizePaths(flags.getLibPaths())),
+				keepLast(flags.getLibFiles()),
+				flags.getOtherLibFlags());
+	}
+
+	private static List<String> canonicalizePaths(List<String> paths) {
+		List<String> result = new ArrayList<String>(paths.size());
+		boolean windows = OSDetector.isWindows();
+		for (String path : paths) {
+			result.add(canonicalizePath(path, windows));
+		}
+		return result;
+	}
+
+	/**
+	 * Canonicalize a path lexically: remove empty and "." segments, resolve
+	 * ".." segments where possible and remove a trailing separator.
+	 * Separators are replaced with slashes.
+	 *
+	 * @param path
+	 * @param windows True if backslashes are separators too.
+	 * @return Canonical path.
+	 */
+	static String canonicalizePath(String path, boolean windows) {
+		String p = windows ? path.replace('\\', '/') : path;
+		if (p.length() == 0) {
+			return p;
+		}
+		//keep the root: "/", "//" of UNC paths or a drive letter like "C:/"
+		String root = ""; //$NON-NLS-1$
+		if (windows && p.startsWith("//")) { //$NON-NLS-1$
+			root = "//"; //$NON-NLS-1$
+		} else if (p.startsWith("/")) { //$NON-NLS-1$
+			root = "/"; //$NON-NLS-1$
+		} else if (windows && p.length() >= 2 && p.charAt(1) == ':') {
+			root = p.length() > 2 && p.charAt(2) == '/' ? p.substring(0, 3) : p.substring(0, 2);
+		}
+		List<String> segments = new ArrayList<String>();
+		for (String segment : p.substring(root.length()).split("/")) { //$NON-NLS-1$
+			if (segment.length() == 0 || segment.equals(CURRENT_DIR)) {
+				continue;
+			}
+			if (segment.equals(PARENT_DIR)) {
+				int last = segments.size()-1;
+				if (last >= 0 && !segments.get(last).equals(PARENT_DIR)) {
+					segments.remove(last);
+					continue;
+				} else if (root.endsWith("/")) { //$NON-NLS-1$
+					//there is nothing above the root
+					continue;
+				}
+			}
+			segments.add(segment);
+		}
+		StringBuilder sB = new StringBuilder(p.length());
+		sB.append(root);
+		for (int i = 0; i < segments.size(); i++) {
+			if (i > 0) {
+				sB.append('/');
+			}
+			sB.append(segments.get(i));
+		}
+		if (sB.length() == 0) {
+			return CURRENT_DIR;
+		}
+		return sB.toString();
+	}
+
+	/**
+	 * Remove duplicates keeping the first occurrence.
+	 *
+	 * @param list
+	 * @return List without duplicates.
+	 */
+	static List<String> keepFirst(List<String> list) {
+		Set<String> seen = new HashSet<String>();
+		List<String> result = new ArrayList<String>(list.size());
+		for (String s : list) {
+			if (seen.add(s)) {
+				result.add(s);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Remove duplicates keeping the last occurrence.
+	 *
+	 * @param list
+	 * @return List without duplicates.
+	 */
+	static List<String> keepLast(List<String> list) {
+		Set<String> seen = new HashSet<String>();
+		List<String> result = new ArrayList<String>(list.size());
+		for (int i = list.size()-1; i >= 0; i--) {
+			if (seen.add(list.get(i))) {
+				result.add(list.get(i));
+			}
+		}
+		Collections.reverse(result);
+		return result;
+	}
+
+}
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits pkg-config output into arguments and classifies them in a single
+ * pass. Arguments are split the way a shell would: quotes and backslash
+ * escapes are removed so paths containing white spaces stay intact.
+ *
+ * The option of an include or library path may be attached to the path or
+ * be a separate argument, e.g. "-I/usr/include" or "-isystem /usr/include".
+ * An instance reuses its buffer and is not thread-safe.
+ *
+ */
+public class FlagTokenizer {
+
+	private static final String INCLUDE = "-I"; //$NON-NLS-1$
+	private static final String ISYSTEM = "-isystem"; //$NON-NLS-1$
+	private static final String IDIRAFTER = "-idirafter"; //$NON-NLS-1$
+	private static final String DEFINE = "-D"; //$NON-NLS-1$
+	private static final String LIB_PATH = "-L"; //$NON-NLS-1$
+	private static final String LIB = "-l"; //$NON-NLS-1$
+	private static final String LINKER_OPTION = "-Wl,"; //$NON-NLS-1$
+	private static final String RDYNAMIC = "-rdynamic"; //$NON-NLS-1$
+
+	//characters that are not escaped when arguments are joined
+	private static final String SAFE_CHARS = "-_./=+,:@%"; //$NON-NLS-1$
+
+	//list waiting for the argument of an option given without one
+	private static final int NONE = 0;
+	private static final int INCLUDE_PATHS = 1;
+	private static final int LIB_PATHS = 2;
+	private static final int LIBS = 3;
+
+	private final StringBuilder token = new StringBuilder();
+
+	/**
+	 * Split and classify flags.
+	 *
+	 * @param s Flags, e.g. "pkg-config --cflags --libs" output.
+	 * @param result Result to fill. It is cleared first.
+	 * @return The given result.
+	 */
+	public Result tokenize(CharSequence s, Result result) {
+		result.clear();
+		int pending = NONE;
+		String pendingOption = null;
+		int i = 0;
+		while ((i = next(s, i)) != -1) {
+			pending = classify(this.token, pending, result);
+			if (pending != NONE) {
+				pendingOption = this.token.toString();
+			}
+		}
+		if (pending != NONE) {
+			//option at the end without an argument
+			result.otherCflags.add(pendingOption);
+		}
+		return result;
+	}
+
+	/**
+	 * Classify flags that are already split into arguments.
+	 *
+	 * @param args Arguments, e.g. the flags of a resolution.
+	 * @param result Result to fill. It is cleared first.
+	 * @return The given result.
+	 */
+	public static Result tokenize(List<String> args, Result result) {
+		result.clear();
+		int pending = NONE;
+		for (String arg : args) {
+			pending = classify(arg, pending, result);
+		}
+		if (pending != NONE) {
+			//option at the end without an argument
+			result.otherCflags.add(args.get(args.size()-1));
+		}
+		return result;
+	}
+
+	/**
+	 * Add an argument to the list of its kind.
+	 *
+	 * @param t Argument.
+	 * @param pending List waiting for the argument or NONE.
+	 * @param result
+	 * @return List waiting for the next argument or NONE.
+	 */
+	private static int classify(CharSequence t, int pending, Result result) {
+		if (pending != NONE) {
+			result.getList(pending).add(t.toString());
+		} else if (startsWith(t, INCLUDE)) {
+			return addPath(t, INCLUDE, INCLUDE_PATHS, result);
+		} else if (startsWith(t, ISYSTEM)) {
+			return addPath(t, ISYSTEM, INCLUDE_PATHS, result);
+		} else if (startsWith(t, IDIRAFTER)) {
+			return addPath(t, IDIRAFTER, INCLUDE_PATHS, result);
+		} else if (startsWith(t, DEFINE)) {
+			result.defines.add(t.toString());
+		} else if (startsWith(t, LIB_PATH)) {
+			return addPath(t, LIB_PATH, LIB_PATHS, result);
+		} else if (startsWith(t, LIB)) {
+			return addPath(t, LIB, LIBS, result);
+		} else if (startsWith(t, LINKER_OPTION) || startsWith(t, RDYNAMIC)) {
+			//linker only flags
+			result.otherLibFlags.add(t.toString());
+		} else {
+			result.otherCflags.add(t.toString());
+		}
+		return NONE;
+	}
+
+	/**
+	 * Split flags into arguments without classifying them.
+	 *
+	 * @param s
+	 * @return Arguments.
+	 */
+	public List<String> split(CharSequence s) {
+		List<String> args = new ArrayList<String>();
+		int i = 0;
+		while ((i = next(s, i)) != -1) {
+			args.add(this.token.toString());
+		}
+		return args;
+	}
+
+	/**
+	 * Join arguments into a string that splits back into the same arguments.
+	 * Like pkg-config, characters that are special to a shell are escaped
+	 * with a backslash and the output ends with a white space.
+	 *
+	 * @param args
+	 * @return Arguments separated by spaces.
+	 */
+	public static String join(List<String> args) {
+		StringBuilder sB = new StringBuilder();
+		for (String arg : args) {
+			if (arg.length() == 0) {
+				sB.append("''"); //$NON-NLS-1$
+			}
+			for (int i = 0; i < arg.length(); i++) {
+				char c = arg.charAt(i);
+				if (!isSafe(c)) {
+					sB.append('\\');
+				}
+				sB.append(c);
+			}
+			sB.append(' ');
+		}
+		return sB.toString();
+	}
+
+	private static boolean isSafe(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+				|| SAFE_CHARS.indexOf(c) != -1;
+	}
+
+	/**
+	 * Add the path of an option to a list.
+	 *
+	 * @param t Token starting with the option.
+	 * @param option
+	 * @param list List the path goes to.
+	 * @param result
+	 * @return The list if the path is the next argument, otherwise NONE.
+	 */
+	private static int addPath(CharSequence t, String option, int list, Result result) {
+		if (t.length() == option.length()) {
+			return list;
+		}
+		result.getList(list).add(t.subSequence(option.length(), t.length()).toString());
+		return NONE;
+	}
+
+	/**
+	 * Read the next argument into the token buffer.
+	 *
+	 * @param s
+	 * @param start Position to start from.
+	 * @return Position after the argument or -1 if there are no more arguments.
+	 */
+	private int next(CharSequence s, int start) {
+		StringBuilder sB = this.token;
+		sB.setLength(0);
+		int n = s.length();
+		int i = start;
+		while (i < n && Character.isWhitespace(s.charAt(i))) {
+			i++;
+		}
+		if (i == n) {
+			return -1;
+		}
+		char quote = 0;
+		for (; i < n; i++) {
+			char c = s.charAt(i);
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				} else if (c == '\\' && quote == '"' && i+1 < n) {
+					sB.append(s.charAt(++i));
+				} else {
+					sB.append(c);
+				}
+			} else if (c == '\'' || c == '"') {
+				quote = c;
+			} else if (c == '\\' && i+1 < n) {
+				sB.append(s.charAt(++i));
+			} else if (Character.isWhitespace(c)) {
+				break;
+			} else {
+				sB.append(c);
+			}
+		}
+		return i;
+	}
+
+	private static boolean startsWith(CharSequence s, String prefix) {
+		if (s.length() < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (s.charAt(i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Classified flags. Can be reused for several inputs.
+	 *
+	 */
+	public static class Result {
+
+		final List<String> includePaths = new ArrayList<String>();
+		final List<String> defines = new ArrayList<String>();
+		final List<String> otherCflags = new ArrayList<String>();
+		final List<String> libPaths = new ArrayList<String>();
+		final List<String> libFiles = new ArrayList<String>();
+		final List<String> otherLibFlags = new ArrayList<String>();
+
+		List<String> getList(int list) {
+			switch (list) {
+			case INCLUDE_PATHS:
+				return this.includePaths;
+			case LIB_PATHS:
+				return this.libPaths;
+			default:
+				return this.libFiles;
+			}
+		}
+
+		/**
+		 * Remove all flags.
+		 */
+		public void clear() {
+			this.includePaths.clear();
+			this.defines.clear();
+			this.otherCflags.clear();
+			this.libPaths.clear();
+			this.libFiles.clear();
+			this.otherLibFlags.clear();
+		}
+
+		/**
+		 * Get include paths given with -I, -isystem or -idirafter.
+		 *
+		 * @return Include paths without the option.
+		 */
+		public List<String> getIncludePaths() {
+			return this.includePaths;
+		}
+
+		/**
+		 * Get preprocessor defines.
+		 *
+		 * @return Defines with the -D prefix.
+		 */
+		public List<String> getDefines() {
+			return this.defines;
+		}
+
+		/**
+		 * Get compiler flags other than include paths and defines.
+		 *
+		 * @return Other compiler flags.
+		 */
+		public List<String> getOtherCflags() {
+			return this.otherCflags;
+		}
+
+		/**
+		 * Get library search paths.
+		 *
+		 * @return Library paths without the -L prefix.
+		 */
+		public List<String> getLibPaths() {
+			return this.libPaths;
+		}
+
+		/**
+		 * Get library files.
+		 *
+		 * @return Libraries without the -l prefix.
+		 */
+		public List<String> getLibFiles() {
+			return this.libFiles;
+		}
+
+		/**
+		 * Get linker flags other than library paths and files.
+		 *
+		 * @return Other linker flags.
+		 */
+		public List<String> getOtherLibFlags() {
+			return this.otherLibFlags;
+		}
+
+		/**
+		 * Copy the flags into an immutable object.
+		 *
+		 * @return Flags.
+		 */
+		public PkgConfigFlags toFlags() {
+			return new PkgConfigFlags(this.includePaths, this.defines, this.otherCflags,
+					this.libPaths, this.libFiles, this.otherLibFlags);
+		}
+	}
+
+}
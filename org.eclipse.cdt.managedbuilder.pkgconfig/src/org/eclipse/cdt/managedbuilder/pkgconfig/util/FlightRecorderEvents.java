@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Java Flight Recorder events of the plug-in's hot paths. The event types
+ * are defined at run time through jdk.jfr.EventFactory so that the plug-in
+ * still runs on Java versions without Flight Recorder. There, and while no
+ * recording is running, beginning an event returns null and committing it
+ * does nothing.
+ *
+ * Usage:
+ * <pre>
+ * Object event = FlightRecorderEvents.REINDEX.begin();
+ * ...
+ * FlightRecorderEvents.REINDEX.commit(event, projectName);
+ * </pre>
+ *
+ */
+public class FlightRecorderEvents {
+
+	private static final String PREFIX = "org.eclipse.cdt.managedbuilder.pkgconfig."; //$NON-NLS-1$
+	static final String[] CATEGORY = {"Eclipse", "pkg-config"}; //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * A pkg-config process. Fields: command, packages, exit code, outcome.
+	 */
+	public static final EventType INVOCATION = new EventType("Invocation", //$NON-NLS-1$
+			"pkg-config Invocation", //$NON-NLS-1$
+			new String[] {"command", "packages", "exitCode", "outcome"}, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			new Class<?>[] {String.class, String.class, int.class, String.class});
+
+	/**
+	 * Resolution of the flags of a package either in-process or by pkg-config.
+	 * Fields: package, resolved.
+	 */
+	public static final EventType RESOLUTION = new EventType("Resolution", //$NON-NLS-1$
+			"Package Resolution", //$NON-NLS-1$
+			new String[] {"package", "resolved"}, //$NON-NLS-1$ //$NON-NLS-2$
+			new Class<?>[] {String.class, boolean.class});
+
+	/**
+	 * A getSettings call of the external setting provider. Fields: project,
+	 * configuration, include path, library file and library path entries.
+	 */
+	public static final EventType SETTINGS = new EventType("Settings", //$NON-NLS-1$
+			"External Settings", //$NON-NLS-1$
+			new String[] {"project", "configuration", "includePaths", "libraryFiles", "libraryPaths"}, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			new Class<?>[] {String.class, String.class, int.class, int.class, int.class});
+
+	/**
+	 * A flag added to the compiler's Other flags option. Fields: project,
+	 * configuration, flag, written (false if the option already had the flag).
+	 */
+	public static final EventType OTHER_FLAG = new EventType("OtherFlag", //$NON-NLS-1$
+			"Other Flag Write", //$NON-NLS-1$
+			new String[] {"project", "configuration", "flag", "written"}, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			new Class<?>[] {String.class, String.class, String.class, boolean.class});
+
+	/**
+	 * A reindex of a project requested by the property tab. Fields: project.
+	 */
+	public static final EventType REINDEX = new EventType("Reindex", //$NON-NLS-1$
+			"Project Reindex", //$NON-NLS-1$
+			new String[] {"project"}, //$NON-NLS-1$
+			new Class<?>[] {String.class});
+
+	//jdk.jfr reflection, null if Flight Recorder is not available
+	static volatile Reflection jfr;
+	static boolean jfrChecked;
+
+	/**
+	 * Get the Flight Recorder API.
+	 *
+	 * @return Reflection or null if Flight Recorder is not available.
+	 */
+	static synchronized Reflection getReflection() {
+		if (!jfrChecked) {
+			jfrChecked = true;
+			try {
+				jfr = new Reflection();
+			} catch (ClassNotFoundException e) {
+				//Java 7 or older, or a JRE without the jdk.jfr module
+			} catch (Exception e) {
+				log(e);
+			}
+		}
+		return jfr;
+	}
+
+	static void log(Exception e) {
+		Activator activator = Activator.getDefault();
+		if (activator != null) {
+			activator.log(IStatus.WARNING, e, "Flight Recorder events are not available."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Type of a Flight Recorder event. The type is registered
+	 * the first time an event of it is begun.
+	 *
+	 */
+	public static class EventType {
+
+		private final String name;
+		private final String label;
+		private final String[] fieldNames;
+		private final Class<?>[] fieldTypes;
+		//jdk.jfr.EventFactory, kept reachable so that the type stays registered
+		private volatile Object factory;
+		private volatile boolean defined;
+
+		EventType(String name, String label, String[] fieldNames, Class<?>[] fieldTypes) {
+			this.name = PREFIX + name;
+			this.label = label;
+			this.fieldNames = fieldNames;
+			this.fieldTypes = fieldTypes;
+		}
+
+		/**
+		 * Begin an event. The duration of the event is measured from here
+		 * until it is committed.
+		 *
+		 * @return Event or null if Flight Recorder is not available or
+		 *         the event type is not enabled.
+		 */
+		public Object begin() {
+			Object f = getFactory();
+			if (f == null) {
+				return null;
+			}
+			Reflection r = jfr;
+			try {
+				Object event = r.newEvent.invoke(f);
+				if (!((Boolean) r.isEnabled.invoke(event)).booleanValue()) {
+					return null;
+				}
+				r.begin.invoke(event);
+				return event;
+			} catch (Exception e) {
+				disable(e);
+				return null;
+			}
+		}
+
+		/**
+		 * Set the fields of an event and commit it.
+		 *
+		 * @param event Event returned by begin() or null.
+		 * @param values Field values in the order of the fields of the type,
+		 *        primitive fields as their wrapper types.
+		 */
+		public void commit(Object event, Object... values) {
+			if (event == null) {
+				return;
+			}
+			Reflection r = jfr;
+			try {
+				for (int i = 0; i < values.length; i++) {
+					r.set.invoke(event, Integer.valueOf(i), values[i]);
+				}
+				r.commit.invoke(event);
+			} catch (Exception e) {
+				disable(e);
+			}
+		}
+
+		private Object getFactory() {
+			if (!this.defined) {
+				define();
+			}
+			return this.factory;
+		}
+
+		private synchronized void define() {
+			if (this.defined) {
+				return;
+			}
+			Reflection r = getReflection();
+			if (r != null) {
+				try {
+					this.factory = r.createFactory(this.name, this.label,
+							this.fieldNames, this.fieldTypes);
+				} catch (Exception e) {
+					log(e);
+				}
+			}
+			this.defined = true;
+		}
+
+		private synchronized void disable(Exception e) {
+			if (this.factory != null) {
+				this.factory = null;
+				log(e);
+			}
+		}
+	}
+
+	/**
+	 * The parts of jdk.jfr that are used, looked up by reflection
+	 * since the plug-in is compiled against Java 6.
+	 *
+	 */
+	static class Reflection {
+
+		final Constructor<?> annotationElement;
+		final Constructor<?> valueDescriptor;
+		final Method create;
+		final Method newEvent;
+		final Method isEnabled;
+		final Method begin;
+		final Method set;
+		final Method commit;
+		final Class<?> nameAnnotation;
+		final Class<?> labelAnnotation;
+		final Class<?> categoryAnnotation;
+
+		Reflection() throws Exception {
+			//jdk.jfr is not visible through the bundle's class loader
+			ClassLoader loader = ClassLoader.getSystemClassLoader();
+			Class<?> annotationElementClass = loader.loadClass("jdk.jfr.AnnotationElement"); //$NON-NLS-1$
+			Class<?> valueDescriptorClass = loader.loadClass("jdk.jfr.ValueDescriptor"); //$NON-NLS-1$
+			Class<?> factoryClass = loader.loadClass("jdk.jfr.EventFactory"); //$NON-NLS-1$
+			Class<?> eventClass = loader.loadClass("jdk.jfr.Event"); //$NON-NLS-1$
+			this.nameAnnotation = loader.loadClass("jdk.jfr.Name"); //$NON-NLS-1$
+			this.labelAnnotation = loader.loadClass("jdk.jfr.Label"); //$NON-NLS-1$
+			this.categoryAnnotation = loader.loadClass("jdk.jfr.Category"); //$NON-NLS-1$
+			this.annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+			this.valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+			this.create = factoryClass.getMethod("create", List.class, List.class); //$NON-NLS-1$
+			this.newEvent = factoryClass.getMethod("newEvent"); //$NON-NLS-1$
+			this.isEnabled = eventClass.getMethod("isEnabled"); //$NON-NLS-1$
+			this.begin = eventClass.getMethod("begin"); //$NON-NLS-1$
+			this.set = eventClass.getMethod("set", int.class, Object.class); //$NON-NLS-1$
+			this.commit = eventClass.getMethod("commit"); //$NON-NLS-1$
+		}
+
+		/**
+		 * Define and register an event type.
+		 *
+		 * @param name
+		 * @param label
+		 * @param fieldNames
+		 * @param fieldTypes
+		 * @return jdk.jfr.EventFactory of the type.
+		 * @throws Exception if the type cannot be defined.
+		 */
+		Object createFactory(String name, String label, String[] fieldNames,
+				Class<?>[] fieldTypes) throws Exception {
+			List<Object> annotations = new ArrayList<Object>();
+			annotations.add(this.annotationElement.newInstance(this.nameAnnotation, name));
+			annotations.add(this.annotationElement.newInstance(this.labelAnnotation, label));
+			annotations.add(this.annotationElement.newInstance(this.categoryAnnotation,
+					CATEGORY.clone()));
+			List<Object> fields = new ArrayList<Object>(fieldNames.length);
+			for (int i = 0; i < fieldNames.length; i++) {
+				List<Object> fieldAnnotations = Collections.singletonList((Object)
+						this.annotationElement.newInstance(this.labelAnnotation, toLabel(fieldNames[i])));
+				fields.add(this.valueDescriptor.newInstance(fieldTypes[i], fieldNames[i],
+						fieldAnnotations));
+			}
+			return this.create.invoke(null, annotations, fields);
+		}
+
+		/**
+		 * Turn a field name to a label, e.g. "exitCode" to "Exit Code".
+		 *
+		 * @param fieldName
+		 * @return Label.
+		 */
+		static String toLabel(String fieldName) {
+			StringBuilder sb = new StringBuilder(fieldName.length() + 4);
+			for (int i = 0; i < fieldName.length(); i++) {
+				char c = fieldName.charAt(i);
+				if (i == 0) {
+					c = Character.toUpperCase(c);
+				} else if (Character.isUpperCase(c)) {
+					sb.append(' ');
+				}
+				sb.append(c);
+			}
+			return sb.toString();
+		}
+	}
+
+}
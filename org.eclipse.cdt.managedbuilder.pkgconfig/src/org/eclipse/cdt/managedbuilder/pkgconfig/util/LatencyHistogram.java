@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations with buckets whose upper bounds are powers of two
+ * microseconds, from 1 microsecond up to about 67 seconds. Longer durations
+ * are counted in the last bucket. Thread-safe without locking.
+ *
+ */
+public class LatencyHistogram {
+
+	static final int BUCKET_COUNT = 27;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param nanos Duration in nanoseconds.
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+		//index of the smallest power of two that is at least micros
+		int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+		this.buckets.incrementAndGet(Math.min(bucket, BUCKET_COUNT - 1));
+		this.count.incrementAndGet();
+		this.totalNanos.addAndGet(nanos);
+		long max;
+		while (nanos > (max = this.maxNanos.get())) {
+			if (this.maxNanos.compareAndSet(max, nanos)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of recorded durations.
+	 *
+	 * @return Count.
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * Get a copy of the current values. Values recorded meanwhile
+	 * may be only partly included.
+	 *
+	 * @return Snapshot.
+	 */
+	public Snapshot getSnapshot() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+		}
+		return new Snapshot(counts, this.count.get(), this.totalNanos.get(), this.maxNanos.get());
+	}
+
+	/**
+	 * Remove all recorded durations.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0);
+		}
+		this.count.set(0);
+		this.totalNanos.set(0);
+		this.maxNanos.set(0);
+	}
+
+	/**
+	 * Upper bound of a bucket.
+	 *
+	 * @param bucket
+	 * @return Microseconds.
+	 */
+	static long getUpperBoundMicros(int bucket) {
+		return 1L << bucket;
+	}
+
+	/**
+	 * Values of a histogram at one point of time. The getters are
+	 * shown as the items of a composite value by JMX clients.
+	 *
+	 */
+	public static class Snapshot {
+
+		private final long[] buckets;
+		private final long count;
+		private final long totalNanos;
+		private final long maxNanos;
+
+		Snapshot(long[] buckets, long count, long totalNanos, long maxNanos) {
+			this.buckets = buckets;
+			this.count = count;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		public double getMeanMillis() {
+			return this.count == 0 ? 0 : this.totalNanos / 1e6 / this.count;
+		}
+
+		public double getMaxMillis() {
+			return this.maxNanos / 1e6;
+		}
+
+		public double getMedianMillis() {
+			return getPercentileMillis(0.5);
+		}
+
+		public double getP90Millis() {
+			return getPercentileMillis(0.9);
+		}
+
+		public double getP99Millis() {
+			return getPercentileMillis(0.99);
+		}
+
+		/**
+		 * Get the number of durations of each bucket. The upper bound of
+		 * bucket i is 2^i microseconds.
+		 *
+		 * @return Counts.
+		 */
+		public long[] getBuckets() {
+			return this.buckets.clone();
+		}
+
+		/**
+		 * Estimate a percentile by the upper bound of the bucket it falls in.
+		 *
+		 * @param fraction Between 0 and 1.
+		 * @return Milliseconds, at most the maximum.
+		 */
+		double getPercentileMillis(double fraction) {
+			long total = 0;
+			for (long c : this.buckets) {
+				total += c;
+			}
+			long rank = (long) Math.ceil(fraction * total);
+			long seen = 0;
+			for (int i = 0; i < this.buckets.length; i++) {
+				seen += this.buckets[i];
+				if (seen >= rank && seen > 0) {
+					return Math.min(getUpperBoundMicros(i) / 1e3, getMaxMillis());
+				}
+			}
+			return 0;
+		}
+	}
+
+}
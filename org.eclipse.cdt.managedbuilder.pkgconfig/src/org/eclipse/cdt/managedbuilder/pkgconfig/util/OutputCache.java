@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded in-memory cache of pkg-config outputs shared by all projects.
+ * The least recently used entries are evicted when the cache is full and
+ * values are held by soft references so that the garbage collector can
+ * drop them under memory pressure. A value cached with a fingerprint is
+ * dropped as soon as any of the files it was computed from changes.
+ * Thread-safe.
+ *
+ */
+public class OutputCache {
+
+	final int maxSize;
+	private final Map<String, ValueReference> map;
+	private final ReferenceQueue<String> queue = new ReferenceQueue<String>();
+
+	//statistics
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxSize Maximum number of entries.
+	 */
+	public OutputCache(int maxSize) {
+		this.maxSize = maxSize;
+		//access order makes the first entry the least recently used one
+		this.map = new LinkedHashMap<String, ValueReference>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ValueReference> eldest) {
+				if (size() > OutputCache.this.maxSize) {
+					OutputCache.this.evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Get a cached value.
+	 *
+	 * @param key
+	 * @return Value or null if not cached.
+	 */
+	public String get(String key) {
+		ValueReference ref;
+		synchronized (this) {
+			expungeCleared();
+			ref = this.map.get(key);
+		}
+		String value = null;
+		if (ref != null) {
+			value = ref.get();
+			//files are checked outside the lock
+			if (value != null && ref.fingerprint != null && !ref.fingerprint.isValid()) {
+				remove(ref);
+				value = null;
+			}
+		}
+		if (value == null) {
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		return value;
+	}
+
+	/**
+	 * Cache a value.
+	 *
+	 * @param key
+	 * @param value Null values are not cached.
+	 */
+	public void put(String key, String value) {
+		put(key, value, null);
+	}
+
+	/**
+	 * Cache a value that stays valid as long as the fingerprint does.
+	 *
+	 * @param key
+	 * @param value Null values are not cached.
+	 * @param fingerprint Fingerprint or null if the value never gets out of date.
+	 */
+	public synchronized void put(String key, String value, Fingerprint fingerprint) {
+		if (value == null) {
+			return;
+		}
+		expungeCleared();
+		this.map.put(key, new ValueReference(key, value, fingerprint, this.queue));
+	}
+
+	/**
+	 * Remove an entry unless the key has been mapped to a new value meanwhile.
+	 *
+	 * @param ref
+	 */
+	private synchronized void remove(ValueReference ref) {
+		if (this.map.get(ref.key) == ref) {
+			this.map.remove(ref.key);
+		}
+	}
+
+	/**
+	 * Remove all entries. Statistics are not reset.
+	 */
+	public synchronized void clear() {
+		this.map.clear();
+		//references of the removed entries don't need to be expunged
+		while (this.queue.poll() != null) {
+			//discard
+		}
+	}
+
+	/**
+	 * Remove entries whose values the garbage collector has cleared.
+	 */
+	private void expungeCleared() {
+		ValueReference ref;
+		while ((ref = (ValueReference) this.queue.poll()) != null) {
+			//the key may have been mapped to a new value meanwhile
+			if (this.map.get(ref.key) == ref) {
+				this.map.remove(ref.key);
+				this.evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Get the number of entries.
+	 *
+	 * @return Size.
+	 */
+	public synchronized int size() {
+		return this.map.size();
+	}
+
+	/**
+	 * Get the maximum number of entries.
+	 *
+	 * @return Maximum size.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Get the number of lookups that found a value.
+	 *
+	 * @return Hits.
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Get the number of lookups that didn't find a value.
+	 *
+	 * @return Misses.
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Get the number of entries evicted because the cache was full
+	 * or memory was low.
+	 *
+	 * @return Evictions.
+	 */
+	public long getEvictions() {
+		return this.evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + getHits() + ", misses=" + getMisses() //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", evictions=" + getEvictions() + ", size=" + size(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Soft reference to a value that remembers its key.
+	 *
+	 */
+	static class ValueReference extends SoftReference<String> {
+
+		final String key;
+		final Fingerprint fingerprint;
+
+		ValueReference(String key, String value, Fingerprint fingerprint,
+				ReferenceQueue<String> queue) {
+			super(value, queue);
+			this.key = key;
+			this.fingerprint = fingerprint;
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An installed package as listed in the package list.
+ *
+ */
+public class PackageEntry {
+
+	/**
+	 * Orders packages by name ignoring case, the order of the package list.
+	 */
+	public static final Comparator<PackageEntry> NAME_ORDER = new Comparator<PackageEntry>() {
+		@Override
+		public int compare(PackageEntry e1, PackageEntry e2) {
+			return String.CASE_INSENSITIVE_ORDER.compare(e1.getName(), e2.getName());
+		}
+	};
+
+	private final String pkg;
+	private final String name;
+	private final String description;
+	private final String version;
+	private final String path;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param pkg Package name, i.e. the file name without the .pc suffix.
+	 * @param name Value of the Name keyword or null if not known.
+	 * @param description Value of the Description keyword.
+	 * @param version Value of the Version keyword.
+	 * @param path Path of the .pc file.
+	 */
+	public PackageEntry(String pkg, String name, String description, String version, String path) {
+		this.pkg = pkg;
+		this.name = name;
+		this.description = description;
+		this.version = version;
+		this.path = path;
+	}
+
+	/**
+	 * Get the package name that is passed to pkg-config.
+	 *
+	 * @return Package name.
+	 */
+	public String getName() {
+		return this.pkg;
+	}
+
+	/**
+	 * Get the human readable name.
+	 *
+	 * @return Value of the Name keyword or null if not known.
+	 */
+	public String getDisplayName() {
+		return this.name;
+	}
+
+	public String getDescription() {
+		return this.description;
+	}
+
+	public String getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Get the path of the .pc file.
+	 *
+	 * @return Path.
+	 */
+	public String getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Get the description shown in the package list.
+	 *
+	 * @return Name and description.
+	 */
+	public String getSummary() {
+		if (this.name == null) {
+			return this.description;
+		}
+		return this.name + " - " + this.description; //$NON-NLS-1$
+	}
+
+	/**
+	 * Format the package the way "pkg-config --list-all" prints it.
+	 *
+	 * @return Package name followed by name and description.
+	 */
+	public String toListLine() {
+		return this.pkg + ' ' + getSummary();
+	}
+
+	/**
+	 * Sort packages into the order of the package list.
+	 *
+	 * @param entries
+	 * @return Sorted copy.
+	 */
+	public static List<PackageEntry> sortByName(Collection<PackageEntry> entries) {
+		List<PackageEntry> sorted = new ArrayList<PackageEntry>(entries);
+		Collections.sort(sorted, NAME_ORDER);
+		return sorted;
+	}
+
+}
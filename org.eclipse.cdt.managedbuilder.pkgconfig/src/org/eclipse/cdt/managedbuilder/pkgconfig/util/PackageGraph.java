@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dependency graph of packages built from the Requires and Requires.private
+ * keywords of their .pc files.
+ *
+ * The transitive closure of each package is computed once from the closures
+ * of the packages it requires and cached until one of its .pc files changes.
+ * Packages shared by several others, e.g. glib under gtk, gio and pango, are
+ * therefore expanded only once. Closures are topologically ordered: every
+ * package comes before the packages it requires, which is the order their
+ * flags are passed to the compiler and the linker.
+ *
+ */
+public class PackageGraph {
+
+	private final PcFileResolver resolver;
+	//closures following Requires.private as well and the ones that don't
+	private final Map<String, List<PcFile>> privateClosures = new ConcurrentHashMap<String, List<PcFile>>();
+	private final Map<String, List<PcFile>> publicClosures = new ConcurrentHashMap<String, List<PcFile>>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param resolver Resolver that finds the .pc files.
+	 */
+	public PackageGraph(PcFileResolver resolver) {
+		this.resolver = resolver;
+	}
+
+	/**
+	 * Get a package and all the packages it requires.
+	 *
+	 * @param pkg Package name.
+	 * @param includePrivate True to follow Requires.private as well.
+	 * @return Packages in topological order starting with the given one
+	 * or null if the package or one of its requirements cannot be found.
+	 */
+	public List<PcFile> getClosure(String pkg, boolean includePrivate) {
+		return getClosure(pkg, null, includePrivate, new HashSet<String>(), new boolean[1]);
+	}
+
+	/**
+	 * Get the given packages and all the packages they require.
+	 *
+	 * @param pkgs Package names.
+	 * @param includePrivate True to follow Requires.private as well.
+	 * @return Packages in topological order, each package once, or null
+	 * if a package or one of its requirements cannot be found.
+	 */
+	public List<PcFile> getClosure(String[] pkgs, boolean includePrivate) {
+		List<List<PcFile>> closures = new ArrayList<List<PcFile>>(pkgs.length);
+		for (String pkg : pkgs) {
+			List<PcFile> closure = getClosure(pkg, includePrivate);
+			if (closure == null) {
+				return null;
+			}
+			closures.add(closure);
+		}
+		return merge(null, closures);
+	}
+
+	/**
+	 * Get the packages whose flags need to be merged to get the flags of
+	 * all the given packages. A package that another one of them requires is
+	 * left out since its flags are already included in the other's flags.
+	 *
+	 * @param pkgs Package names.
+	 * @return Package names in topological order or null if a package
+	 * or one of its requirements cannot be found.
+	 */
+	public List<String> getMergeOrder(String[] pkgs) {
+		//flags of a package include the libs of its public requirements only
+		List<List<PcFile>> closures = new ArrayList<List<PcFile>>(pkgs.length);
+		for (String pkg : pkgs) {
+			List<PcFile> closure = getClosure(pkg, false);
+			if (closure == null) {
+				return null;
+			}
+			closures.add(closure);
+		}
+		Set<String> covered = new HashSet<String>();
+		for (List<PcFile> closure : closures) {
+			for (int i = 1; i < closure.size(); i++) {
+				covered.add(closure.get(i).getPackage());
+			}
+		}
+		List<PcFile> all = merge(null, closures);
+		Set<String> requested = new HashSet<String>();
+		Collections.addAll(requested, pkgs);
+		List<String> order = new ArrayList<String>();
+		for (PcFile pc : all) {
+			String pkg = pc.getPackage();
+			if (requested.contains(pkg) && !covered.contains(pkg)) {
+				order.add(pkg);
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Get the closure of a package from the cache or compute it from
+	 * the closures of its requirements.
+	 *
+	 * @param pkg Package name.
+	 * @param req Requirement that led to this package or null.
+	 * @param includePrivate True to follow Requires.private as well.
+	 * @param visiting Packages on the current path used to detect cycles.
+	 * @param cycle Set to true if a cycle was detected.
+	 * @return Closure or null if the package cannot be resolved.
+	 */
+	private List<PcFile> getClosure(String pkg, PcFile.Requirement req, boolean includePrivate,
+			Set<String> visiting, boolean[] cycle) {
+		Map<String, List<PcFile>> cache = includePrivate ? this.privateClosures : this.publicClosures;
+		List<PcFile> closure = cache.get(pkg);
+		if (closure != null && !isStale(closure)) {
+			return isSatisfied(closure.get(0), req) ? closure : null;
+		}
+		PcFile pc = this.resolver.find(pkg);
+		if (pc == null || !isSatisfied(pc, req)) {
+			return null;
+		}
+		if (!visiting.add(pkg)) {
+			//dependency cycle, the package is already being collected
+			cycle[0] = true;
+			return Collections.emptyList();
+		}
+		List<PcFile.Requirement> reqs = new ArrayList<PcFile.Requirement>(
+				pc.getRequirements(PcFile.REQUIRES));
+		if (includePrivate) {
+			reqs.addAll(pc.getRequirements(PcFile.REQUIRES_PRIVATE));
+		}
+		boolean outerCycle = cycle[0];
+		cycle[0] = false;
+		List<List<PcFile>> closures = new ArrayList<List<PcFile>>(reqs.size());
+		for (PcFile.Requirement r : reqs) {
+			List<PcFile> c = getClosure(r.getPackage(), r, includePrivate, visiting, cycle);
+			if (c == null) {
+				visiting.remove(pkg);
+				return null;
+			}
+			closures.add(c);
+		}
+		visiting.remove(pkg);
+		closure = merge(pc, closures);
+		//a closure cut short by a cycle is only valid on this path
+		if (!cycle[0]) {
+			cache.put(pkg, closure);
+		}
+		cycle[0] |= outerCycle;
+		return closure;
+	}
+
+	/**
+	 * Merge topologically ordered closures into one. The closures are
+	 * walked backwards so that every package is added after the packages
+	 * it requires, and the result is reversed.
+	 *
+	 * @param first Package that comes first or null.
+	 * @param closures Closures in the order of the requirements.
+	 * @return Merged closure.
+	 */
+	private static List<PcFile> merge(PcFile first, List<List<PcFile>> closures) {
+		List<PcFile> reversed = new ArrayList<PcFile>();
+		Set<String> seen = new HashSet<String>();
+		for (int i = closures.size()-1; i >= 0; i--) {
+			List<PcFile> closure = closures.get(i);
+			for (int j = closure.size()-1; j >= 0; j--) {
+				PcFile pc = closure.get(j);
+				if (seen.add(pc.getPackage())) {
+					reversed.add(pc);
+				}
+			}
+		}
+		if (first != null && seen.add(first.getPackage())) {
+			reversed.add(first);
+		}
+		Collections.reverse(reversed);
+		return Collections.unmodifiableList(reversed);
+	}
+
+	private static boolean isSatisfied(PcFile pc, PcFile.Requirement req) {
+		return req == null || req.isSatisfiedBy(pc.getKeyword(PcFile.VERSION));
+	}
+
+	private static boolean isStale(List<PcFile> closure) {
+		for (PcFile pc : closure) {
+			if (pc.isStale()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
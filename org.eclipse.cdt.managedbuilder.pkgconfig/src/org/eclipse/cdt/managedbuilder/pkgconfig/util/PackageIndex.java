@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the packages installed in the pkg-config search path.
+ * Replaces "pkg-config --list-all" which fully parses every .pc file.
+ *
+ * The search path directories are scanned concurrently and only the
+ * Name, Description and Version keywords are read from each .pc file.
+ * The packages of a directory are remembered until the modification
+ * time of the directory changes, i.e. a .pc file is added or removed.
+ *
+ */
+public class PackageIndex {
+
+	private static final String PC_SUFFIX = ".pc"; //$NON-NLS-1$
+
+	private static final FileFilter PC_FILE_FILTER = new FileFilter() {
+		@Override
+		public boolean accept(File file) {
+			return file.getName().endsWith(PC_SUFFIX) && file.isFile();
+		}
+	};
+
+	private final Map<String, Directory> directories = new ConcurrentHashMap<String, Directory>();
+
+	/**
+	 * Get the packages found in the given directories. A package found in
+	 * more than one directory is listed once, from the first directory like
+	 * pkg-config would resolve it.
+	 *
+	 * @param searchPath Directories in the order of precedence.
+	 * @return Packages.
+	 */
+	public List<PackageEntry> getPackages(List<String> searchPath) {
+		List<Callable<Directory>> tasks = new ArrayList<Callable<Directory>>(searchPath.size());
+		for (final String dir : searchPath) {
+			tasks.add(new Callable<Directory>() {
+				@Override
+				public Directory call() {
+					return getDirectory(dir);
+				}
+			});
+		}
+		List<Directory> scanned = ResolutionExecutor.invokeAll(tasks);
+		List<PackageEntry> packages = new ArrayList<PackageEntry>();
+		Set<String> names = new HashSet<String>();
+		for (Directory dir : scanned) {
+			if (dir == null) {
+				continue;
+			}
+			for (PackageEntry entry : dir.entries) {
+				if (names.add(entry.getName())) {
+					packages.add(entry);
+				}
+			}
+		}
+		return packages;
+	}
+
+	/**
+	 * Get the packages of a directory. The directory is scanned only
+	 * if it hasn't been scanned before or it has changed since.
+	 *
+	 * @param path
+	 * @return Directory.
+	 */
+	Directory getDirectory(String path) {
+		File dir = new File(path);
+		long lastModified = dir.lastModified();
+		Directory cached = this.directories.get(path);
+		if (cached != null && cached.lastModified == lastModified) {
+			return cached;
+		}
+		Directory scanned = new Directory(lastModified, scan(dir));
+		this.directories.put(path, scanned);
+		return scanned;
+	}
+
+	/**
+	 * Remove all remembered directories.
+	 */
+	public void clear() {
+		this.directories.clear();
+	}
+
+	/**
+	 * Read the .pc files of a directory.
+	 *
+	 * @param dir
+	 * @return Packages sorted by file name.
+	 */
+	private static List<PackageEntry> scan(File dir) {
+		File[] files = dir.listFiles(PC_FILE_FILTER);
+		if (files == null) {
+			//missing or unreadable directory
+			return new ArrayList<PackageEntry>(0);
+		}
+		Arrays.sort(files);
+		List<PackageEntry> entries = new ArrayList<PackageEntry>(files.length);
+		for (File file : files) {
+			try {
+				entries.add(readEntry(file));
+			} catch (IOException e) {
+				//skip the file like pkg-config skips files it cannot read
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Read the Name, Description and Version keywords of a .pc file.
+	 *
+	 * @param file
+	 * @return Package.
+	 * @throws IOException if the file cannot be read.
+	 */
+	static PackageEntry readEntry(File file) throws IOException {
+		String fileName = file.getName();
+		String pkg = fileName.substring(0, fileName.length() - PC_SUFFIX.length());
+		PcFile pc = PcFile.loadHeader(pkg, file);
+		String name = pc.getKeyword(PcFile.NAME);
+		return new PackageEntry(pkg, name.length() > 0 ? name : pkg, pc.getKeyword(PcFile.DESCRIPTION),
+				pc.getKeyword(PcFile.VERSION), file.getPath());
+	}
+
+	/**
+	 * Packages of one search path directory.
+	 *
+	 */
+	static class Directory {
+
+		final long lastModified;
+		final List<PackageEntry> entries;
+
+		Directory(long lastModified, List<PackageEntry> entries) {
+			this.lastModified = lastModified;
+			this.entries = entries;
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Package list stored in the plug-in's state location in a compact binary
+ * format. The file is mapped into memory read-only when it is loaded so
+ * opening the property tab needs neither pkg-config nor a directory scan.
+ *
+ * The header holds the resolver mode, the search path and the modification
+ * times of its directories. The file is out of date as soon as any of
+ * them changes.
+ * The rows follow as an offset table and the UTF-8 encoded strings.
+ *
+ */
+public class PackageIndexFile {
+
+	private static final String INDEX_FILE = "packages.index"; //$NON-NLS-1$
+	private static final String TMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+	private static final int MAGIC = 0x504b4758;
+	//increase when the file format changes
+	private static final int VERSION = 2;
+
+	/**
+	 * Load the package list of the search path from the state location.
+	 *
+	 * @param searchPath
+	 * @return Package list or null if there is no up to date index.
+	 */
+	public static PackageList load(List<String> searchPath) {
+		File file = getIndexFile();
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try {
+			return load(file, PkgConfigUtil.isBuiltinResolverUsed(), searchPath);
+		} catch (IOException e) {
+			Activator.getDefault().log(IStatus.WARNING, e, "Reading the package index failed."); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Map an index file.
+	 *
+	 * @param file
+	 * @param builtin True if the packages are listed by the built-in resolver.
+	 * @param searchPath
+	 * @return Package list or null if the file is out of date.
+	 * @throws IOException if the file cannot be read or it is broken.
+	 */
+	static PackageList load(File file, boolean builtin, List<String> searchPath) throws IOException {
+		FileInputStream fis = new FileInputStream(file);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(fis));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readBoolean() != builtin) {
+				return null;
+			}
+			int headerLength = in.readInt();
+			int dirCount = in.readInt();
+			if (dirCount != searchPath.size()) {
+				return null;
+			}
+			for (int i = 0; i < dirCount; i++) {
+				String dir = in.readUTF();
+				long lastModified = in.readLong();
+				if (!dir.equals(searchPath.get(i)) || new File(dir).lastModified() != lastModified) {
+					return null;
+				}
+			}
+			//the mapping stays valid after the channel is closed
+			FileChannel channel = fis.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+					headerLength, channel.size() - headerLength);
+			return PackageList.wrap(buffer);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Store the packages in the state location.
+	 *
+	 * @param searchPath
+	 * @param packages Packages held in memory.
+	 * @return Package list mapped from the written file or the given
+	 * list if the file could not be written.
+	 */
+	public static PackageList save(List<String> searchPath, PackageList packages) {
+		File file = getIndexFile();
+		if (file != null) {
+			File tmp = new File(file.getPath() + TMP_SUFFIX);
+			boolean builtin = PkgConfigUtil.isBuiltinResolverUsed();
+			try {
+				write(tmp, builtin, searchPath, packages);
+				//a file that is still mapped cannot be replaced on Windows
+				if ((!file.exists() || file.delete()) && tmp.renameTo(file)) {
+					PackageList list = load(file, builtin, searchPath);
+					if (list != null) {
+						return list;
+					}
+				}
+			} catch (IOException e) {
+				Activator.getDefault().log(IStatus.WARNING, e, "Writing the package index failed."); //$NON-NLS-1$
+			}
+			tmp.delete();
+		}
+		return packages;
+	}
+
+	private static void write(File file, boolean builtin, List<String> searchPath,
+			PackageList packages) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(bytes);
+		header.writeInt(searchPath.size());
+		for (String dir : searchPath) {
+			header.writeUTF(dir);
+			header.writeLong(new File(dir).lastModified());
+		}
+		header.flush();
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			DataOutputStream out = new DataOutputStream(fos);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeBoolean(builtin);
+			//header length counts everything before the rows
+			out.writeInt(13 + bytes.size());
+			bytes.writeTo(out);
+			packages.writeTo(out);
+			out.flush();
+		} finally {
+			fos.close();
+		}
+	}
+
+	/**
+	 * Get the index file in the state location of the plug-in.
+	 *
+	 * @return Index file or null if the plug-in is not active.
+	 */
+	private static File getIndexFile() {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		return activator.getStateLocation().append(INDEX_FILE).toFile();
+	}
+
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only list of packages backed by the rows of a package index file.
+ * The strings of a row are decoded only when they are asked for, so
+ * a list mapped from a file costs next to nothing until it is displayed.
+ * Thread-safe.
+ *
+ */
+public class PackageList {
+
+	//fields of a row
+	static final int NAME = 0;
+	static final int SUMMARY = 1;
+	static final int VERSION = 2;
+	static final int PATH = 3;
+	static final int FIELD_COUNT = 4;
+
+	static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final int offsets;
+	private final int strings;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param buffer Buffer with an offset table followed by the strings.
+	 * @param size Number of rows.
+	 * @param offsets Position of the offset table, one int for each field
+	 * of each row plus the end of the last string.
+	 * @param strings Position of the UTF-8 encoded strings.
+	 */
+	PackageList(ByteBuffer buffer, int size, int offsets, int strings) {
+		this.buffer = buffer;
+		this.size = size;
+		this.offsets = offsets;
+		this.strings = strings;
+	}
+
+	/**
+	 * Sort the packages by name and encode them into a list held in memory.
+	 *
+	 * @param entries Packages in any order.
+	 * @return Package list.
+	 */
+	public static PackageList create(Collection<PackageEntry> entries) {
+		try {
+			return wrap(ByteBuffer.wrap(encode(PackageEntry.sortByName(entries))));
+		} catch (IOException e) {
+			//cannot happen with a byte array
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Encode the rows: row count, the offset of each string relative to
+	 * the first string followed by the end offset, and the strings.
+	 *
+	 * @param entries
+	 * @return Encoded rows.
+	 * @throws IOException if writing to the byte array fails, which it doesn't.
+	 */
+	public static byte[] encode(List<PackageEntry> entries) throws IOException {
+		ByteArrayOutputStream strings = new ByteArrayOutputStream();
+		int[] offsets = new int[entries.size() * FIELD_COUNT + 1];
+		int i = 0;
+		for (PackageEntry entry : entries) {
+			String[] fields = new String[FIELD_COUNT];
+			fields[NAME] = entry.getName();
+			fields[SUMMARY] = entry.getSummary();
+			fields[VERSION] = entry.getVersion();
+			fields[PATH] = entry.getPath();
+			for (String field : fields) {
+				offsets[i++] = strings.size();
+				strings.write(field.getBytes(UTF8));
+			}
+		}
+		offsets[i] = strings.size();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + 4 * offsets.length + strings.size());
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(entries.size());
+		for (int offset : offsets) {
+			out.writeInt(offset);
+		}
+		strings.writeTo(out);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Create a package list of encoded rows.
+	 *
+	 * @param buffer
+	 * @return Package list.
+	 * @throws IOException if the rows are broken.
+	 */
+	public static PackageList wrap(ByteBuffer buffer) throws IOException {
+		int size = buffer.capacity() >= 4 ? buffer.getInt(0) : -1;
+		long strings = 4 + 4L * (size * (long) FIELD_COUNT + 1);
+		if (size < 0 || strings > buffer.capacity()
+				|| buffer.getInt((int) strings - 4) != buffer.capacity() - strings) {
+			throw new IOException("Broken package index"); //$NON-NLS-1$
+		}
+		return new PackageList(buffer, size, 4, (int) strings);
+	}
+
+	/**
+	 * Write the encoded rows.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		if (this.buffer.hasArray()) {
+			out.write(this.buffer.array(), this.buffer.arrayOffset(), this.buffer.capacity());
+			return;
+		}
+		byte[] bytes = new byte[this.buffer.capacity()];
+		ByteBuffer dup = this.buffer.duplicate();
+		dup.clear();
+		dup.get(bytes);
+		out.write(bytes);
+	}
+
+	/**
+	 * Get the number of packages.
+	 *
+	 * @return Size.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Get the package name that is passed to pkg-config.
+	 *
+	 * @param row
+	 * @return Package name.
+	 */
+	public String getName(int row) {
+		return get(row, NAME);
+	}
+
+	/**
+	 * Get the description shown in the package list.
+	 *
+	 * @param row
+	 * @return Name and description.
+	 */
+	public String getSummary(int row) {
+		return get(row, SUMMARY);
+	}
+
+	/**
+	 * Get the version.
+	 *
+	 * @param row
+	 * @return Version or an empty string if not known.
+	 */
+	public String getVersion(int row) {
+		return get(row, VERSION);
+	}
+
+	/**
+	 * Get the path of the .pc file.
+	 *
+	 * @param row
+	 * @return Path or an empty string if not known.
+	 */
+	public String getPath(int row) {
+		return get(row, PATH);
+	}
+
+	private String get(int row, int field) {
+		if (row < 0 || row >= this.size) {
+			throw new IndexOutOfBoundsException(String.valueOf(row));
+		}
+		int index = this.offsets + 4 * (row * FIELD_COUNT + field);
+		int start = this.buffer.getInt(index);
+		int end = this.buffer.getInt(index + 4);
+		byte[] bytes = new byte[end - start];
+		//a duplicate has its own position so concurrent reads don't interfere
+		ByteBuffer dup = this.buffer.duplicate();
+		dup.position(this.strings + start);
+		dup.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+}
@@ -11,6 +11,7 @@
 package org.eclipse.cdt.managedbuilder.pkgconfig.util;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Parses pkg-config utility output.
@@ -22,36 +23,15 @@ public class Parser {
 	 * Parses options from "pkg-config --cflags" input.
 	 * 
 	 * @param s Output from pkg-config.
-	 * @return Parsed String array.
+	 * @return Defines and other compiler flags or null if there are none.
 	 */
 	public static String[] parseCflagOptions(String s) throws NullPointerException {
 		if (s != null) {
-			String str;
-			//find the index where include list starts
-			int end = s.indexOf("-I"); //$NON-NLS-1$
-			if (end != -1) { //includes found
-				if (end != 0) { //options found
-					//truncate include paths
-					str = s.substring(0, end-1);
-					//insert options to an array
-					String[] options = str.split(" "); //$NON-NLS-1$
-					return options;
-				} else if (end == 0) { //no options found
-					return null;
-				}
-			} else { //if no includes found
-				//check if any flags found
-				int flagStart = s.indexOf("-"); //$NON-NLS-1$
-				if (flagStart != -1) { //options found
-					str = s.substring(flagStart, s.length()-1);
-					//insert options into an array
-					String[] options = str.split(" "); //$NON-NLS-1$
-					return options;
-				}
-				return null;
-			}
+			FlagTokenizer.Result result = tokenize(s);
+			List<String> options = new ArrayList<String>(result.getDefines());
+			options.addAll(result.getOtherCflags());
+			return options.isEmpty() ? null : options.toArray(new String[options.size()]);
 		}
-		//should not reach here
 		return null;
 	}
 	
@@ -59,51 +39,16 @@ public class Parser {
 	 * Parses include paths from "pkg-config --cflags" input.
 	 * 
 	 * @param s Output from pkg-config.
-	 * @return Parsed String array.
+	 * @return Include paths or null if there are none.
 	 */
 	public static String[] parseIncPaths(String s) throws NullPointerException {
 		if (s != null) {
-			String str;
-			//find the index where include list starts
-			int start = s.indexOf("-I"); //$NON-NLS-1$
-			if (start != -1) { //if include paths found
-				//truncate other than include paths
-				str = s.substring(start, s.length()-1);
-				//remove library search path flags
-				str = str.replace("-I", ""); //$NON-NLS-1$ //$NON-NLS-2$
-				//insert include paths into an array
-				String[] incPaths = str.split(" "); //$NON-NLS-1$
-				return incPaths;
-			}
-			return null;
+			List<String> incPaths = tokenize(s).getIncludePaths();
+			return incPaths.isEmpty() ? null : incPaths.toArray(new String[incPaths.size()]);
 		}
 		return null;
 	}
 	
-//	/**
-//	 * Parses library search paths from "pkg-config --libs" input.
-//	 * 
-//	 * @param s Output from pkg-config.
-//	 * @return Parsed String array.
-//	 */
-//	public static String[] parseLibPaths(String s) throws NullPointerException {
-//		//find the index where library path list starts
-//		int start = s.indexOf("-L"); //$NON-NLS-1$
-//		String str;
-//		if (start != -1) { //if library paths found
-//			//find the index where library list starts
-//			int end = s.indexOf(" -l"); //$NON-NLS-1$
-//			//truncate other than library paths
-//			str = s.substring(start, end);
-//			//remove library search path flags
-//			str = str.replace("-L", ""); //$NON-NLS-1$ //$NON-NLS-2$
-//			//insert lib paths into an array
-//			String[] libPaths = str.split(" "); //$NON-NLS-1$
-//			return libPaths;
-//		}
-//		return null;
-//	}
-	
 	/**
 	 * Parses library search paths from "pkg-config --libs-only-L" input.
 	 * 
@@ -112,43 +57,12 @@ public class Parser {
 	 */
 	public static String[] parseLibPaths2(String s) throws NullPointerException{
 		if (s != null) {
-			//remove library search path flags
-			String s2 = s.replace("-L", ""); //$NON-NLS-1$ //$NON-NLS-2$
-			//insert lib paths into an array
-			String[] libPaths = s2.split(" "); //$NON-NLS-1$
-			return libPaths;
+			List<String> libPaths = tokenize(s).getLibPaths();
+			return libPaths.toArray(new String[libPaths.size()]);
 		}
 		return null;
 	}
 	
-//	/**
-//	 * Parses libraries from "pkg-config --libs" input.
-//	 * 
-//	 * @param s Output from pkg-config.
-//	 * @return Parsed String array.
-//	 */
-//	public static String[] parseLibs(String s) throws NullPointerException {
-//		if (s != null) {
-//			String str;
-//			//special case if pkg-config --libs output starts with -l
-//			int start = s.indexOf("-l"); //$NON-NLS-1$
-//			if (start != 0) {
-//				start = s.indexOf(" -l"); //$NON-NLS-1$
-//			}
-//			if (start != -1) { //if libraries found
-//				//truncate library search paths
-//				str = s.substring(start+1, s.length()-1);
-//				//remove lib flags
-//				str = str.replace(" -l", " "); //$NON-NLS-1$ //$NON-NLS-2$
-//				//insert libs into an array
-//				String[] libs = str.split(" "); //$NON-NLS-1$
-//				return libs;
-//			}
-//			return null;			
-//		}
-//		return null;	
-//	}
-	
 	/**
 	 * Parses libraries from "pkg-config --libs-only-l" input.
 	 * 
@@ -156,21 +70,41 @@ public class Parser {
 	 * @return Parsed String array.
 	 */
 	public static String[] parseLibs2(String s) throws NullPointerException {
-		if (s != null) {		
-			String libStr = s;
-			if(libStr.startsWith("-l")) { //$NON-NLS-1$
-				libStr = libStr.replaceFirst("-l", ""); //$NON-NLS-1$ //$NON-NLS-2$
-				//libStr = libStr.substring(2, libStr.length()-1);
-			}
-			//remove lib flags
-			libStr = libStr.replace(" -l", " "); //$NON-NLS-1$ //$NON-NLS-2$
-			//insert libs into an array
-			String[] libs = libStr.split(" "); //$NON-NLS-1$
-		    return libs;
+		if (s != null) {
+			List<String> libs = tokenize(s).getLibFiles();
+			return libs.toArray(new String[libs.size()]);
 		}
 		return null;
 	}
 	
+	/**
+	 * Parses "pkg-config --cflags --libs" output into flags split by their kind.
+	 *
+	 * @param s Output from pkg-config.
+	 * @return Parsed flags or null if the output is null.
+	 */
+	public static PkgConfigFlags parseFlags(String s) {
+		if (s == null) {
+			return null;
+		}
+		return tokenize(s).toFlags();
+	}
+
+	/**
+	 * Parses flags that are already split into arguments, e.g. the flags
+	 * of an in-process resolution, into flags split by their kind.
+	 *
+	 * @param args Arguments.
+	 * @return Parsed flags.
+	 */
+	public static PkgConfigFlags parseFlags(List<String> args) {
+		return FlagTokenizer.tokenize(args, new FlagTokenizer.Result()).toFlags();
+	}
+
+	private static FlagTokenizer.Result tokenize(String s) {
+		return new FlagTokenizer().tokenize(s, new FlagTokenizer.Result());
+	}
+
 	/**
 	 * Parse package list so that only package names are added to ArrayList.
 	 * 
@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.pkgconfig.util;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.eclipse.cdt.managedbuilder.core.IConfiguration;
 import org.eclipse.cdt.managedbuilder.core.IManagedBuildInfo;
 import org.eclipse.cdt.managedbuilder.core.IOption;
@@ -40,10 +37,13 @@ public class PathToToolOption {
 	 */
 	public static void addOtherFlag(String otherFlag, IProject proj) {
 		if (proj != null && (otherFlag.length()>0)) {
+			Object event = FlightRecorderEvents.OTHER_FLAG.begin();
 			IConfiguration cf = getActiveBuildConf(proj);
 			if (cf != null) {
 				//Add path to compiler's Other flags Option
-				addOtherFlagToToolOption(cf, otherFlag);
+				boolean written = addOtherFlagToToolOption(cf, otherFlag);
+				FlightRecorderEvents.OTHER_FLAG.commit(event, proj.getName(), cf.getName(),
+						otherFlag, Boolean.valueOf(written));
 			}
 		}
 	}
@@ -96,7 +96,7 @@ public class PathToToolOption {
 		} else {
 			return false;
 		}
-		return false;
+		return true;
 	}
 
 	/**
@@ -185,22 +185,7 @@ public class PathToToolOption {
 	 * @return String[] List that includes existing paths as well as new paths.
 	 */
 	public static String[] addNewPathToExistingPathList(String[] existingPaths, String newPath) {
-		List<String> newPathList = new ArrayList<String>();
-		String path;
-		//adds existing paths to new paths list
-		for (int i = 0; i < existingPaths.length; i++) {
-			path = existingPaths[i];
-			newPathList.add(path);
-		}
-		//separates new path if it has multiple paths separated by a path separator
-		String[] newPathArray = newPath.split(Separators.getPathSeparator());
-		for (int i = 0; i < newPathArray.length; i++) {
-			path = newPathArray[i];
-			newPathList.add(path);
-		}
-		//creates a new list that includes all existing paths as well as new paths
-		String[] newArray = newPathList.toArray(new String[0]);
-		return newArray;
+		return Separators.appendPaths(existingPaths, newPath);
 	}
 
 	/**
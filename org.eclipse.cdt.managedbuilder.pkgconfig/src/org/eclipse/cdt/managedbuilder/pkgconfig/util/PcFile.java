@@ -0,0 +1,510 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parsed pkg-config .pc file.
+ * Variables and keyword values are expanded while the file is read
+ * the same way pkg-config does it. A file can also be read only up to
+ * the keywords that describe the package.
+ *
+ */
+public class PcFile {
+
+	//keywords
+	public static final String NAME = "Name"; //$NON-NLS-1$
+	public static final String DESCRIPTION = "Description"; //$NON-NLS-1$
+	public static final String VERSION = "Version"; //$NON-NLS-1$
+	public static final String REQUIRES = "Requires"; //$NON-NLS-1$
+	public static final String REQUIRES_PRIVATE = "Requires.private"; //$NON-NLS-1$
+	public static final String CFLAGS = "Cflags"; //$NON-NLS-1$
+	public static final String LIBS = "Libs"; //$NON-NLS-1$
+	public static final String LIBS_PRIVATE = "Libs.private"; //$NON-NLS-1$
+
+	private static final String PC_FILE_DIR = "pcfiledir"; //$NON-NLS-1$
+	private static final String PC_SYSROOT_DIR = "pc_sysrootdir"; //$NON-NLS-1$
+	private static final String PC_TOP_BUILD_DIR = "pc_top_builddir"; //$NON-NLS-1$
+	private static final String ENV_SYSROOT_DIR = "PKG_CONFIG_SYSROOT_DIR"; //$NON-NLS-1$
+	private static final String ENV_TOP_BUILD_DIR = "PKG_CONFIG_TOP_BUILD_DIR"; //$NON-NLS-1$
+	//pkg-config's defaults when the environment variables are not set
+	private static final String DEFAULT_SYSROOT_DIR = "/"; //$NON-NLS-1$
+	private static final String DEFAULT_TOP_BUILD_DIR = "$(top_builddir)"; //$NON-NLS-1$
+	private static final String PREFIX = "prefix"; //$NON-NLS-1$
+	private static final String PKG_CONFIG_DIR = "pkgconfig"; //$NON-NLS-1$
+
+	private final String pkg;
+	private final File file;
+	private final long lastModified;
+	private final long length;
+	//only the Name, Description and Version keywords are read
+	private final boolean header;
+	private final Map<String, String> variables = new HashMap<String, String>();
+	private final Map<String, String> keywords = new HashMap<String, String>();
+
+	private PcFile(String pkg, File file, boolean header) {
+		this.pkg = pkg;
+		this.file = file;
+		this.header = header;
+		this.lastModified = file.lastModified();
+		this.length = file.length();
+	}
+
+	/**
+	 * Reads and parses a .pc file.
+	 *
+	 * @param pkg Package name, i.e. the file name without the .pc suffix.
+	 * @param file The .pc file.
+	 * @param definePrefix True if the prefix variable should be redefined
+	 * based on the location of the file.
+	 * @return Parsed file.
+	 * @throws IOException if the file cannot be read or it is malformed.
+	 */
+	public static PcFile load(String pkg, File file, boolean definePrefix) throws IOException {
+		return read(new PcFile(pkg, file, false), definePrefix);
+	}
+
+	/**
+	 * Reads the Name, Description and Version keywords of a .pc file.
+	 * Reading stops as soon as all of them have been found. Undefined
+	 * variables are left unexpanded since the values are only displayed.
+	 *
+	 * @param pkg Package name, i.e. the file name without the .pc suffix.
+	 * @param file The .pc file.
+	 * @return Partially parsed file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static PcFile loadHeader(String pkg, File file) throws IOException {
+		return read(new PcFile(pkg, file, true), false);
+	}
+
+	private static PcFile read(PcFile pc, boolean definePrefix) throws IOException {
+		File file = pc.file;
+		String dir = file.getParentFile() != null ? file.getParentFile().getPath() : ""; //$NON-NLS-1$
+		pc.variables.put(PC_FILE_DIR, dir);
+		//predefined by pkg-config, the file may redefine them
+		pc.variables.put(PC_SYSROOT_DIR, getEnv(ENV_SYSROOT_DIR, DEFAULT_SYSROOT_DIR));
+		pc.variables.put(PC_TOP_BUILD_DIR, getEnv(ENV_TOP_BUILD_DIR, DEFAULT_TOP_BUILD_DIR));
+		String origPrefix = null;
+		String newPrefix = null;
+		BufferedReader input = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file), "UTF-8")); //$NON-NLS-1$
+		try {
+			String line;
+			while ((line = readLogicalLine(input)) != null) {
+				line = line.trim();
+				int i = 0;
+				while (i < line.length() && isIdentifierChar(line.charAt(i))) {
+					i++;
+				}
+				int j = i;
+				while (j < line.length() && Character.isWhitespace(line.charAt(j))) {
+					j++;
+				}
+				//blank lines, comments and unknown lines are ignored like pkg-config does
+				if (i == 0 || j == line.length()) {
+					continue;
+				}
+				String name = line.substring(0, i);
+				char op = line.charAt(j);
+				if (op != '=' && op != ':') {
+					continue;
+				}
+				String value = pc.expand(line.substring(j+1).trim());
+				if (op == '=') {
+					if (definePrefix && name.equals(PREFIX)) {
+						//relocate the package to where the .pc file is installed
+						File pkgConfigDir = file.getParentFile();
+						if (pkgConfigDir != null && pkgConfigDir.getName().equals(PKG_CONFIG_DIR)
+								&& pkgConfigDir.getParentFile() != null
+								&& pkgConfigDir.getParentFile().getParentFile() != null) {
+							origPrefix = value;
+							newPrefix = pkgConfigDir.getParentFile().getParentFile().getPath()
+									.replace('\\', '/');
+							value = newPrefix;
+						}
+					} else if (origPrefix != null && value.startsWith(origPrefix)) {
+						value = newPrefix + value.substring(origPrefix.length());
+					}
+					pc.variables.put(name, value);
+				} else {
+					pc.keywords.put(name, value);
+					if (pc.header && pc.keywords.containsKey(NAME)
+							&& pc.keywords.containsKey(DESCRIPTION) && pc.keywords.containsKey(VERSION)) {
+						break;
+					}
+				}
+			}
+		} finally {
+			input.close();
+		}
+		return pc;
+	}
+
+	private static String getEnv(String name, String def) {
+		String value = System.getenv(name);
+		return value != null && value.length() > 0 ? value : def;
+	}
+
+	/**
+	 * Reads one logical line. Strips comments and joins lines
+	 * that end with a backslash.
+	 *
+	 * @param input
+	 * @return Line or null if the end of the input has been reached.
+	 * @throws IOException
+	 */
+	static String readLogicalLine(BufferedReader input) throws IOException {
+		String line = input.readLine();
+		if (line == null) {
+			return null;
+		}
+		StringBuilder sB = new StringBuilder();
+		while (line != null) {
+			boolean cont = false;
+			for (int i = 0; i < line.length(); i++) {
+				char c = line.charAt(i);
+				if (c == '\\' && i+1 < line.length() && line.charAt(i+1) == '#') {
+					sB.append('#');
+					i++;
+				} else if (c == '#') {
+					break;
+				} else if (c == '\\' && i+1 == line.length()) {
+					cont = true;
+				} else {
+					sB.append(c);
+				}
+			}
+			if (!cont) {
+				break;
+			}
+			line = input.readLine();
+		}
+		return sB.toString();
+	}
+
+	static boolean isIdentifierChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+	}
+
+	/**
+	 * Expands ${variable} references with the variables defined so far.
+	 * When only the header is read, undefined references are kept as is.
+	 *
+	 * @param value
+	 * @return Expanded value.
+	 * @throws IOException if an undefined variable is referenced.
+	 */
+	private String expand(String value) throws IOException {
+		if (value.indexOf('$') == -1) {
+			return value;
+		}
+		StringBuilder sB = new StringBuilder(value.length());
+		int i = 0;
+		while (i < value.length()) {
+			char c = value.charAt(i);
+			if (c == '$' && i+1 < value.length() && value.charAt(i+1) == '$') {
+				sB.append('$');
+				i += 2;
+			} else if (c == '$' && i+1 < value.length() && value.charAt(i+1) == '{') {
+				int end = value.indexOf('}', i+2);
+				if (end == -1 && this.header) {
+					sB.append(c);
+					i++;
+					continue;
+				}
+				if (end == -1) {
+					throw new IOException("Unterminated variable reference in " + this.file); //$NON-NLS-1$
+				}
+				String var = value.substring(i+2, end);
+				String varValue = this.variables.get(var);
+				if (varValue == null && this.header) {
+					varValue = value.substring(i, end+1);
+				} else if (varValue == null) {
+					throw new IOException("Variable '" + var + "' not defined in " + this.file); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				sB.append(varValue);
+				i = end+1;
+			} else {
+				sB.append(c);
+				i++;
+			}
+		}
+		return sB.toString();
+	}
+
+	/**
+	 * Splits a Cflags or Libs value into arguments the way a shell would.
+	 * Quotes and backslash escapes are removed.
+	 *
+	 * @param value
+	 * @return Arguments.
+	 */
+	public static List<String> splitArguments(String value) {
+		return new FlagTokenizer().split(value);
+	}
+
+	/**
+	 * Get package name, i.e. the name of the file without the .pc suffix.
+	 *
+	 * @return Package name.
+	 */
+	public String getPackage() {
+		return this.pkg;
+	}
+
+	/**
+	 * Get the .pc file.
+	 *
+	 * @return File.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Get modification time of the file at the time it was read.
+	 *
+	 * @return Modification time.
+	 */
+	public long getLastModified() {
+		return this.lastModified;
+	}
+
+	/**
+	 * Get size of the file at the time it was read.
+	 *
+	 * @return Size in bytes.
+	 */
+	public long getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Check if the file has changed after it was read.
+	 *
+	 * @return True if the file was modified or removed.
+	 */
+	public boolean isStale() {
+		return this.file.lastModified() != this.lastModified
+				|| this.file.length() != this.length;
+	}
+
+	/**
+	 * Get expanded value of a variable.
+	 *
+	 * @param name
+	 * @return Value or null if not defined.
+	 */
+	public String getVariable(String name) {
+		return this.variables.get(name);
+	}
+
+	/**
+	 * Get expanded value of a keyword such as Cflags.
+	 *
+	 * @param name
+	 * @return Value or an empty String if not defined.
+	 */
+	public String getKeyword(String name) {
+		String value = this.keywords.get(name);
+		return value != null ? value : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Get packages listed in Requires or Requires.private.
+	 *
+	 * @param keyword REQUIRES or REQUIRES_PRIVATE
+	 * @return Package requirements.
+	 */
+	public List<Requirement> getRequirements(String keyword) {
+		List<Requirement> reqs = new ArrayList<Requirement>();
+		List<String> tokens = splitRequirements(getKeyword(keyword));
+		for (int i = 0; i < tokens.size(); i++) {
+			String op = null;
+			String version = null;
+			if (i+2 < tokens.size() && Requirement.isOperator(tokens.get(i+1))) {
+				op = tokens.get(i+1);
+				version = tokens.get(i+2);
+			}
+			reqs.add(new Requirement(tokens.get(i), op, version));
+			if (op != null) {
+				i += 2;
+			}
+		}
+		return reqs;
+	}
+
+	/**
+	 * Splits a Requires value into package names, operators and versions.
+	 * Packages are separated with commas and/or white spaces and the
+	 * operators don't need to be surrounded with white spaces, e.g. "b>=2.0".
+	 *
+	 * @param value
+	 * @return Tokens.
+	 */
+	static List<String> splitRequirements(String value) {
+		List<String> tokens = new ArrayList<String>();
+		int start = -1;
+		boolean inOperator = false;
+		for (int i = 0; i <= value.length(); i++) {
+			char c = i < value.length() ? value.charAt(i) : ' ';
+			boolean separator = c == ',' || Character.isWhitespace(c);
+			boolean operator = c == '<' || c == '>' || c == '=' || c == '!';
+			if (start != -1 && (separator || operator != inOperator)) {
+				tokens.add(value.substring(start, i));
+				start = -1;
+			}
+			if (start == -1 && !separator) {
+				start = i;
+				inOperator = operator;
+			}
+		}
+		return tokens;
+	}
+
+	@Override
+	public String toString() {
+		return this.pkg;
+	}
+
+	/**
+	 * A required package with an optional version constraint.
+	 *
+	 */
+	public static class Requirement {
+
+		private final String pkg;
+		private final String operator;
+		private final String version;
+
+		Requirement(String pkg, String operator, String version) {
+			this.pkg = pkg;
+			this.operator = operator;
+			this.version = version;
+		}
+
+		static boolean isOperator(String s) {
+			return s.equals("=") || s.equals("!=") || s.equals("<") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					|| s.equals("<=") || s.equals(">") || s.equals(">="); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
+		public String getPackage() {
+			return this.pkg;
+		}
+
+		/**
+		 * Check if the given version satisfies the constraint.
+		 *
+		 * @param actual Version of the installed package.
+		 * @return True if satisfied or if there is no constraint.
+		 */
+		public boolean isSatisfiedBy(String actual) {
+			if (this.operator == null) {
+				return true;
+			}
+			int cmp = compareVersions(actual, this.version);
+			if (this.operator.equals("=")) { //$NON-NLS-1$
+				return cmp == 0;
+			} else if (this.operator.equals("!=")) { //$NON-NLS-1$
+				return cmp != 0;
+			} else if (this.operator.equals("<")) { //$NON-NLS-1$
+				return cmp < 0;
+			} else if (this.operator.equals("<=")) { //$NON-NLS-1$
+				return cmp <= 0;
+			} else if (this.operator.equals(">")) { //$NON-NLS-1$
+				return cmp > 0;
+			}
+			return cmp >= 0;
+		}
+
+		@Override
+		public String toString() {
+			return this.operator != null ? this.pkg + ' ' + this.operator + ' ' + this.version : this.pkg;
+		}
+	}
+
+	/**
+	 * Compares two version strings the same way pkg-config does (rpmvercmp).
+	 *
+	 * @param a
+	 * @param b
+	 * @return Negative, zero or positive if a is older, the same or newer than b.
+	 */
+	public static int compareVersions(String a, String b) {
+		int i = 0;
+		int j = 0;
+		while (i < a.length() || j < b.length()) {
+			//skip separators
+			while (i < a.length() && !Character.isLetterOrDigit(a.charAt(i))) {
+				i++;
+			}
+			while (j < b.length() && !Character.isLetterOrDigit(b.charAt(j))) {
+				j++;
+			}
+			if (i >= a.length() || j >= b.length()) {
+				break;
+			}
+			boolean numeric = Character.isDigit(a.charAt(i));
+			int si = i;
+			int sj = j;
+			while (i < a.length() && (numeric ? Character.isDigit(a.charAt(i))
+					: Character.isLetter(a.charAt(i)))) {
+				i++;
+			}
+			while (j < b.length() && (numeric ? Character.isDigit(b.charAt(j))
+					: Character.isLetter(b.charAt(j)))) {
+				j++;
+			}
+			if (sj == j) {
+				//segments of different type, numeric one is newer
+				return numeric ? 1 : -1;
+			}
+			String segA = a.substring(si, i);
+			String segB = b.substring(sj, j);
+			if (numeric) {
+				segA = stripLeadingZeros(segA);
+				segB = stripLeadingZeros(segB);
+				if (segA.length() != segB.length()) {
+					return segA.length() - segB.length();
+				}
+			}
+			int cmp = segA.compareTo(segB);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		boolean aLeft = i < a.length();
+		boolean bLeft = j < b.length();
+		if (aLeft == bLeft) {
+			return 0;
+		}
+		return aLeft ? 1 : -1;
+	}
+
+	private static String stripLeadingZeros(String s) {
+		int i = 0;
+		while (i < s.length()-1 && s.charAt(i) == '0') {
+			i++;
+		}
+		return s.substring(i);
+	}
+
+}
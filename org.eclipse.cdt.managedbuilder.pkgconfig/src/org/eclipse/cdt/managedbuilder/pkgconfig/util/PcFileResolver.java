@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Resolves compiler and linker flags of packages by reading .pc files
+ * directly from the search path instead of launching pkg-config.
+ *
+ * Follows Requires and Requires.private, removes duplicate flags and
+ * filters out the system include and library directories like pkg-config.
+ * Returns null whenever a package cannot be resolved so that the caller
+ * can fall back to the pkg-config utility.
+ *
+ */
+public class PcFileResolver {
+
+	private static final String PC_SUFFIX = ".pc"; //$NON-NLS-1$
+
+	//environment variables that change pkg-config's behaviour
+	private static final String ENV_SYSROOT_DIR = "PKG_CONFIG_SYSROOT_DIR"; //$NON-NLS-1$
+	private static final String ENV_SYSTEM_INCLUDE_PATH = "PKG_CONFIG_SYSTEM_INCLUDE_PATH"; //$NON-NLS-1$
+	private static final String ENV_SYSTEM_LIBRARY_PATH = "PKG_CONFIG_SYSTEM_LIBRARY_PATH"; //$NON-NLS-1$
+	private static final String ENV_ALLOW_SYSTEM_CFLAGS = "PKG_CONFIG_ALLOW_SYSTEM_CFLAGS"; //$NON-NLS-1$
+	private static final String ENV_ALLOW_SYSTEM_LIBS = "PKG_CONFIG_ALLOW_SYSTEM_LIBS"; //$NON-NLS-1$
+
+	private static final String[] DEFAULT_SYSTEM_INCLUDE_PATH = {"/usr/include"}; //$NON-NLS-1$
+	private static final String[] DEFAULT_SYSTEM_LIBRARY_PATH = {
+		"/usr/lib", "/lib", "/usr/lib64", "/lib64" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	};
+
+	private final List<File> searchPath;
+	private final Set<String> systemIncludePath;
+	private final Set<String> systemLibraryPath;
+	private final boolean definePrefix;
+	private final Map<String, PcFile> pcFiles = new ConcurrentHashMap<String, PcFile>();
+	//modification times of the files that failed to parse, each failure is logged once
+	private final Map<File, Long> brokenFiles = new ConcurrentHashMap<File, Long>();
+	private final PackageGraph graph = new PackageGraph(this);
+
+	/**
+	 * Constructor.
+	 *
+	 * @param searchPath Directories to search for .pc files in the order of precedence.
+	 */
+	public PcFileResolver(List<String> searchPath) {
+		this.searchPath = new ArrayList<File>();
+		for (String dir : searchPath) {
+			if (dir.length() > 0) {
+				this.searchPath.add(new File(dir));
+			}
+		}
+		this.systemIncludePath = getEnvPaths(ENV_SYSTEM_INCLUDE_PATH, DEFAULT_SYSTEM_INCLUDE_PATH);
+		this.systemLibraryPath = getEnvPaths(ENV_SYSTEM_LIBRARY_PATH, DEFAULT_SYSTEM_LIBRARY_PATH);
+		//pkg-config relocates packages on Windows by default
+		this.definePrefix = OSDetector.isWindows();
+	}
+
+	private static Set<String> getEnvPaths(String name, String[] defaults) {
+		Set<String> paths = new HashSet<String>();
+		String value = System.getenv(name);
+		if (value != null) {
+			for (String path : value.split(Separators.getPathSeparator())) {
+				if (path.length() > 0) {
+					paths.add(path);
+				}
+			}
+		} else {
+			Collections.addAll(paths, defaults);
+		}
+		return paths;
+	}
+
+	/**
+	 * Check if the in-process resolution can mimic pkg-config in the
+	 * current environment.
+	 *
+	 * @return True if supported.
+	 */
+	public static boolean isSupported() {
+		//sysroot handling is left to pkg-config
+		return System.getenv(ENV_SYSROOT_DIR) == null;
+	}
+
+	/**
+	 * Get the directories that are searched for .pc files.
+	 *
+	 * @return Search path.
+	 */
+	public List<File> getSearchPath() {
+		return Collections.unmodifiableList(this.searchPath);
+	}
+
+	/**
+	 * Find and parse the .pc file of a package. The first match
+	 * on the search path is used. Parsed files are cached until they change.
+	 *
+	 * @param pkg Package name.
+	 * @return Parsed file or null if not found or unreadable.
+	 */
+	public PcFile find(String pkg) {
+		PcFile pc = this.pcFiles.get(pkg);
+		if (pc != null && !pc.isStale()) {
+			return pc;
+		}
+		for (File dir : this.searchPath) {
+			File file = new File(dir, pkg + PC_SUFFIX);
+			if (file.isFile()) {
+				try {
+					pc = PcFile.load(pkg, file, this.definePrefix);
+					this.pcFiles.put(pkg, pc);
+					return pc;
+				} catch (IOException e) {
+					Long lastModified = Long.valueOf(file.lastModified());
+					if (!lastModified.equals(this.brokenFiles.put(file, lastModified))) {
+						Activator.getDefault().log(IStatus.WARNING, e, "Parsing a .pc file failed."); //$NON-NLS-1$
+					}
+					return null;
+				}
+			}
+		}
+		this.pcFiles.remove(pkg);
+		return null;
+	}
+
+	/**
+	 * Resolve flags of the given packages and everything they require.
+	 *
+	 * @param pkgs Package names.
+	 * @return Resolution or null if any of the packages cannot be resolved.
+	 */
+	public Resolution resolve(String[] pkgs) {
+		//each package before its requirements, shared requirements only once
+		List<PcFile> cflagsOrder = this.graph.getClosure(pkgs, true);
+		List<PcFile> libsOrder = this.graph.getClosure(pkgs, false);
+		if (cflagsOrder == null || libsOrder == null) {
+			return null;
+		}
+
+		List<String> cflags = new ArrayList<String>();
+		for (PcFile pc : cflagsOrder) {
+			cflags.addAll(PcFile.splitArguments(pc.getKeyword(PcFile.CFLAGS)));
+		}
+		List<String> libs = new ArrayList<String>();
+		for (PcFile pc : libsOrder) {
+			libs.addAll(PcFile.splitArguments(pc.getKeyword(PcFile.LIBS)));
+		}
+
+		return new Resolution(filterCflags(cflags), filterLibs(libs), new ArrayList<PcFile>(cflagsOrder));
+	}
+
+	/**
+	 * Get the dependency graph of the packages on the search path.
+	 *
+	 * @return Package graph.
+	 */
+	public PackageGraph getGraph() {
+		return this.graph;
+	}
+
+	/**
+	 * Remove duplicate cflags keeping the first occurrence and
+	 * drop the system include directories.
+	 *
+	 * @param cflags
+	 * @return Filtered cflags.
+	 */
+	private List<String> filterCflags(List<String> cflags) {
+		boolean allowSystem = System.getenv(ENV_ALLOW_SYSTEM_CFLAGS) != null;
+		Set<String> seen = new HashSet<String>();
+		List<String> result = new ArrayList<String>();
+		for (String flag : cflags) {
+			if (!allowSystem && flag.startsWith("-I") //$NON-NLS-1$
+					&& this.systemIncludePath.contains(flag.substring(2))) {
+				continue;
+			}
+			if (seen.add(flag)) {
+				result.add(flag);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Remove duplicate libraries keeping the last occurrence so that
+	 * libraries stay after the ones that depend on them. Other duplicate
+	 * flags are removed keeping the first occurrence. System library
+	 * directories are dropped.
+	 *
+	 * @param libs
+	 * @return Filtered libs.
+	 */
+	private List<String> filterLibs(List<String> libs) {
+		boolean allowSystem = System.getenv(ENV_ALLOW_SYSTEM_LIBS) != null;
+		Set<String> seen = new HashSet<String>();
+		List<String> reversed = new ArrayList<String>();
+		//walk backwards so that the last -l occurrence wins
+		for (int i = libs.size()-1; i >= 0; i--) {
+			String flag = libs.get(i);
+			if (flag.startsWith("-l") && seen.add(flag)) { //$NON-NLS-1$
+				reversed.add(flag);
+			} else if (!flag.startsWith("-l")) { //$NON-NLS-1$
+				reversed.add(flag);
+			}
+		}
+		Collections.reverse(reversed);
+		seen.clear();
+		List<String> result = new ArrayList<String>();
+		for (String flag : reversed) {
+			if (flag.startsWith("-l")) { //$NON-NLS-1$
+				result.add(flag);
+			} else if (!allowSystem && flag.startsWith("-L") //$NON-NLS-1$
+					&& this.systemLibraryPath.contains(flag.substring(2))) {
+				continue;
+			} else if (seen.add(flag)) {
+				result.add(flag);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Result of a resolution.
+	 *
+	 */
+	public static class Resolution {
+
+		private final List<String> cflags;
+		private final List<String> libs;
+		private final List<PcFile> files;
+
+		Resolution(List<String> cflags, List<String> libs, List<PcFile> files) {
+			this.cflags = Collections.unmodifiableList(cflags);
+			this.libs = Collections.unmodifiableList(libs);
+			this.files = Collections.unmodifiableList(files);
+		}
+
+		/**
+		 * Get the output of "pkg-config --cflags".
+		 *
+		 * @return Compiler flags.
+		 */
+		public List<String> getCflags() {
+			return this.cflags;
+		}
+
+		/**
+		 * Get the output of "pkg-config --libs".
+		 *
+		 * @return Linker flags.
+		 */
+		public List<String> getLibs() {
+			return this.libs;
+		}
+
+		/**
+		 * Get all .pc files that contributed to the result.
+		 *
+		 * @return .pc files.
+		 */
+		public List<PcFile> getFiles() {
+			return this.files;
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Non-blocking facade of PkgConfigUtil. Each method returns immediately
+ * with a Future and resolves in a background thread. The callback, if
+ * given, is called with the result when the resolution has finished.
+ * Cancelling the Future kills a running pkg-config process.
+ *
+ */
+public class PkgConfigAsync {
+
+	//resolutions mostly wait for processes and files so the pool is not bounded
+	private static ExecutorService executor;
+
+	/**
+	 * Resolve compiler and linker flags of the given packages with a single call.
+	 *
+	 * @param pkgs
+	 * @param callback Callback or null.
+	 * @return Future flags of all the packages.
+	 */
+	public static Future<PkgConfigFlags> getFlags(final String[] pkgs,
+			ResolutionCallback<PkgConfigFlags> callback) {
+		return submit(new Resolution<PkgConfigFlags>() {
+			@Override
+			public PkgConfigFlags resolve(IProgressMonitor monitor) {
+				return PkgConfigUtil.getFlags(pkgs, monitor);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Resolve compiler and linker flags of each of the given packages separately.
+	 *
+	 * @param pkgs
+	 * @param callback Callback or null.
+	 * @return Future flags in the order of the packages.
+	 */
+	public static Future<List<PkgConfigFlags>> getFlagsOfEach(final String[] pkgs,
+			ResolutionCallback<List<PkgConfigFlags>> callback) {
+		return submit(new Resolution<List<PkgConfigFlags>>() {
+			@Override
+			public List<PkgConfigFlags> resolve(IProgressMonitor monitor) {
+				return PkgConfigUtil.getFlagsOfEach(pkgs, monitor);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Get all packages that pkg-config finds.
+	 *
+	 * @param callback Callback or null.
+	 * @return Future package list.
+	 */
+	public static Future<ArrayList<String>> getAllPackages(ResolutionCallback<ArrayList<String>> callback) {
+		return submit(new Resolution<ArrayList<String>>() {
+			@Override
+			public ArrayList<String> resolve(IProgressMonitor monitor) {
+				return PkgConfigUtil.getAllPackages();
+			}
+		}, callback);
+	}
+
+	/**
+	 * Run a resolution in the background.
+	 *
+	 * @param resolution
+	 * @param callback
+	 * @return Future result.
+	 */
+	private static <T> Future<T> submit(final Resolution<T> resolution, ResolutionCallback<T> callback) {
+		final IProgressMonitor monitor = new NullProgressMonitor();
+		AsyncResolution<T> future = new AsyncResolution<T>(new Callable<T>() {
+			@Override
+			public T call() {
+				return resolution.resolve(monitor);
+			}
+		}, monitor, callback);
+		getExecutor().execute(future);
+		return future;
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newCachedThreadPool(new DaemonThreadFactory("pkg-config async")); //$NON-NLS-1$
+		}
+		return executor;
+	}
+
+	/**
+	 * Cancel running resolutions. Called when the plug-in stops.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Work done in the background.
+	 *
+	 * @param <T> Type of the result.
+	 */
+	interface Resolution<T> {
+
+		/**
+		 * Resolve.
+		 *
+		 * @param monitor Cancelled when the Future is cancelled.
+		 * @return Result.
+		 */
+		T resolve(IProgressMonitor monitor);
+	}
+
+	/**
+	 * Future that cancels the monitor of the resolution and calls the callback.
+	 *
+	 * @param <T> Type of the result.
+	 */
+	static class AsyncResolution<T> extends FutureTask<T> {
+
+		private final IProgressMonitor monitor;
+		private final ResolutionCallback<T> callback;
+
+		AsyncResolution(Callable<T> callable, IProgressMonitor monitor, ResolutionCallback<T> callback) {
+			super(callable);
+			this.monitor = monitor;
+			this.callback = callback;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			this.monitor.setCanceled(true);
+			return super.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		protected void done() {
+			if (this.callback == null || isCancelled()) {
+				return;
+			}
+			T result = null;
+			try {
+				result = get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof OperationCanceledException) {
+					return;
+				}
+				Activator.getDefault().log(e, "Resolving packages failed."); //$NON-NLS-1$
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			this.callback.resolved(result);
+		}
+	}
+
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiler and linker flags of one or more packages split by their kind.
+ * Instances are immutable.
+ *
+ */
+public final class PkgConfigFlags {
+
+	public static final PkgConfigFlags EMPTY = new PkgConfigFlags(
+			Collections.<String>emptyList(), Collections.<String>emptyList(),
+			Collections.<String>emptyList(), Collections.<String>emptyList(),
+			Collections.<String>emptyList(), Collections.<String>emptyList());
+
+	private final List<String> includePaths;
+	private final List<String> defines;
+	private final List<String> otherCflags;
+	private final List<String> libPaths;
+	private final List<String> libFiles;
+	private final List<String> otherLibFlags;
+
+	/**
+	 * Constructor. The given lists are copied.
+	 *
+	 * @param includePaths Include paths without the -I prefix.
+	 * @param defines Preprocessor defines with the -D prefix.
+	 * @param otherCflags Other compiler flags.
+	 * @param libPaths Library search paths without the -L prefix.
+	 * @param libFiles Libraries without the -l prefix.
+	 * @param otherLibFlags Other linker flags.
+	 */
+	public PkgConfigFlags(List<String> includePaths, List<String> defines,
+			List<String> otherCflags, List<String> libPaths, List<String> libFiles,
+			List<String> otherLibFlags) {
+		this.includePaths = copyOf(includePaths);
+		this.defines = copyOf(defines);
+		this.otherCflags = copyOf(otherCflags);
+		this.libPaths = copyOf(libPaths);
+		this.libFiles = copyOf(libFiles);
+		this.otherLibFlags = copyOf(otherLibFlags);
+	}
+
+	private static List<String> copyOf(List<String> list) {
+		if (list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<String>(list));
+	}
+
+	/**
+	 * Concatenates flags of several packages in the given order.
+	 * Null elements are skipped.
+	 *
+	 * @param flags Flags of the packages.
+	 * @return Concatenated flags.
+	 */
+	public static PkgConfigFlags concat(List<PkgConfigFlags> flags) {
+		List<String> inc = new ArrayList<String>();
+		List<String> def = new ArrayList<String>();
+		List<String> other = new ArrayList<String>();
+		List<String> libPath = new ArrayList<String>();
+		List<String> lib = new ArrayList<String>();
+		List<String> otherLib = new ArrayList<String>();
+		for (PkgConfigFlags f : flags) {
+			if (f != null) {
+				inc.addAll(f.includePaths);
+				def.addAll(f.defines);
+				other.addAll(f.otherCflags);
+				libPath.addAll(f.libPaths);
+				lib.addAll(f.libFiles);
+				otherLib.addAll(f.otherLibFlags);
+			}
+		}
+		return new PkgConfigFlags(inc, def, other, libPath, lib, otherLib);
+	}
+
+	/**
+	 * Merges flags of several packages in the given order and normalizes
+	 * the result, which removes the flags the packages share.
+	 * Null elements are skipped.
+	 *
+	 * @param flags Flags of the packages.
+	 * @return Merged flags.
+	 * @see FlagNormalizer
+	 */
+	public static PkgConfigFlags merge(List<PkgConfigFlags> flags) {
+		return FlagNormalizer.normalize(concat(flags));
+	}
+
+	/**
+	 * Get include paths.
+	 *
+	 * @return Include paths without the -I prefix.
+	 */
+	public List<String> getIncludePaths() {
+		return this.includePaths;
+	}
+
+	/**
+	 * Get preprocessor defines.
+	 *
+	 * @return Defines with the -D prefix.
+	 */
+	public List<String> getDefines() {
+		return this.defines;
+	}
+
+	/**
+	 * Get compiler flags other than include paths and defines.
+	 *
+	 * @return Other compiler flags.
+	 */
+	public List<String> getOtherCflags() {
+		return this.otherCflags;
+	}
+
+	/**
+	 * Get library search paths.
+	 *
+	 * @return Library paths without the -L prefix.
+	 */
+	public List<String> getLibPaths() {
+		return this.libPaths;
+	}
+
+	/**
+	 * Get library files.
+	 *
+	 * @return Libraries without the -l prefix.
+	 */
+	public List<String> getLibFiles() {
+		return this.libFiles;
+	}
+
+	/**
+	 * Get linker flags other than library paths and files.
+	 *
+	 * @return Other linker flags.
+	 */
+	public List<String> getOtherLibFlags() {
+		return this.otherLibFlags;
+	}
+
+	/**
+	 * Get the flags that go to compiler's Other flags option,
+	 * i.e. defines followed by other compiler flags.
+	 *
+	 * @return Other flags.
+	 */
+	public String[] getOtherFlags() {
+		String[] flags = new String[this.defines.size()+this.otherCflags.size()];
+		int i = 0;
+		for (String def : this.defines) {
+			flags[i++] = def;
+		}
+		for (String flag : this.otherCflags) {
+			flags[i++] = flag;
+		}
+		return flags;
+	}
+
+}
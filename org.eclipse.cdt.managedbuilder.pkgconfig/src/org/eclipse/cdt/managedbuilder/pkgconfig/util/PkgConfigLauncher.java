@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+
+/**
+ * Creates pkg-config processes. The pkg-config binary is launched directly
+ * without a shell so that no quoting or escaping of the arguments is needed.
+ *
+ */
+public class PkgConfigLauncher {
+
+	private static final String PKG_CONFIG = "pkg-config"; //$NON-NLS-1$
+	private static final String EXE_SUFFIX = ".exe"; //$NON-NLS-1$
+	private static final String ENV_PATH = "PATH"; //$NON-NLS-1$
+	private static final String ENV_PKG_CONFIG_PATH = "PKG_CONFIG_PATH"; //$NON-NLS-1$
+	private static final String ENV_PKG_CONFIG_LIBDIR = "PKG_CONFIG_LIBDIR"; //$NON-NLS-1$
+
+	//absolute path of the binary and the directories it was looked up from
+	private static String binary;
+	private static String binaryKey;
+
+	/**
+	 * Create a process builder that runs pkg-config with the given arguments.
+	 * PKG_CONFIG_PATH and PKG_CONFIG_LIBDIR are set from the preferences.
+	 *
+	 * @param args Arguments, each element is passed to pkg-config as is.
+	 * @return Process builder.
+	 */
+	public static ProcessBuilder createProcessBuilder(List<String> args) {
+		List<String> cmd = new ArrayList<String>(args.size()+1);
+		cmd.add(getBinary());
+		cmd.addAll(args);
+		ProcessBuilder pb = new ProcessBuilder(cmd);
+		Map<String, String> env = pb.environment();
+		String path = PreferenceStore.getPkgConfigPath();
+		if (path != null && path.length() > 0) {
+			String envPath = env.get(ENV_PKG_CONFIG_PATH);
+			if (envPath != null && envPath.length() > 0) {
+				path = path + Separators.getPathSeparator() + envPath;
+			}
+			env.put(ENV_PKG_CONFIG_PATH, path);
+		}
+		String libDir = PreferenceStore.getPkgConfigLibDir();
+		if (libDir != null && libDir.length() > 0) {
+			env.put(ENV_PKG_CONFIG_LIBDIR, libDir);
+		}
+		return pb;
+	}
+
+	/**
+	 * Create a process builder that runs pkg-config.
+	 *
+	 * @param options Options separated by white spaces, e.g. "--cflags --libs".
+	 * @param pkgs Package names separated by white spaces or null.
+	 * @return Process builder.
+	 */
+	public static ProcessBuilder createProcessBuilder(String options, String pkgs) {
+		List<String> args = new ArrayList<String>();
+		addWords(args, options);
+		addWords(args, pkgs);
+		return createProcessBuilder(args);
+	}
+
+	private static void addWords(List<String> args, String words) {
+		if (words != null) {
+			for (String word : words.trim().split("\\s+")) { //$NON-NLS-1$
+				if (word.length() > 0) {
+					args.add(word);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the absolute path of the pkg-config binary. Directories listed in
+	 * the PKG_CONFIG_PATH preference are searched first and then the PATH
+	 * environment variable. The result is memoized until either changes.
+	 *
+	 * @return Absolute path or just "pkg-config" if the binary was not found.
+	 */
+	public static synchronized String getBinary() {
+		String prefPath = PreferenceStore.getPkgConfigPath();
+		String envPath = System.getenv(ENV_PATH);
+		String key = prefPath + Separators.getPathSeparator() + envPath;
+		if (binary == null || !key.equals(binaryKey)) {
+			binary = findBinary(prefPath, envPath);
+			binaryKey = key;
+		}
+		return binary;
+	}
+
+	private static String findBinary(String prefPath, String envPath) {
+		String name = OSDetector.isWindows() ? PKG_CONFIG + EXE_SUFFIX : PKG_CONFIG;
+		for (String paths : new String[] {prefPath, envPath}) {
+			if (paths == null) {
+				continue;
+			}
+			for (String dir : paths.split(Separators.getPathSeparator())) {
+				if (dir.length() == 0) {
+					continue;
+				}
+				File file = new File(dir, name);
+				if (file.isFile()) {
+					return file.getAbsolutePath();
+				}
+			}
+		}
+		//let the operating system find it
+		return PKG_CONFIG;
+	}
+
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Counters and latency histograms of the hot paths of the plug-in.
+ * Published as a platform MXBean while the plug-in is active so that
+ * JConsole or any other JMX client can show where the time goes.
+ * Thread-safe.
+ *
+ */
+public class PkgConfigMetrics implements PkgConfigMetricsMXBean {
+
+	public static final String OBJECT_NAME = "org.eclipse.cdt.managedbuilder.pkgconfig:type=Metrics"; //$NON-NLS-1$
+
+	private static final PkgConfigMetrics metrics = new PkgConfigMetrics();
+
+	private final LatencyHistogram spawnLatency = new LatencyHistogram();
+	private final LatencyHistogram resolutionLatency = new LatencyHistogram();
+	private final LatencyHistogram settingsLatency = new LatencyHistogram();
+	private final ConcurrentMap<String, AtomicLong> settingsCalls = new ConcurrentHashMap<String, AtomicLong>();
+	private final AtomicLong includePathEntries = new AtomicLong();
+	private final AtomicLong libraryFileEntries = new AtomicLong();
+	private final AtomicLong libraryPathEntries = new AtomicLong();
+	private final AtomicLong otherFlagsJobs = new AtomicLong();
+	private final AtomicLong updateDataJobs = new AtomicLong();
+
+	/**
+	 * Get the metrics of the plug-in.
+	 *
+	 * @return Metrics.
+	 */
+	public static PkgConfigMetrics getDefault() {
+		return metrics;
+	}
+
+	/**
+	 * Register the metrics in the platform MBean server.
+	 * Failures are logged but don't keep the plug-in from starting.
+	 */
+	public static void register() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			//left behind if the plug-in was not stopped cleanly
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(metrics, name);
+		} catch (JMException e) {
+			Activator.getDefault().log(IStatus.WARNING, e, "Registering the metrics MBean failed."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Remove the metrics from the platform MBean server.
+	 */
+	public static void unregister() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			Activator.getDefault().log(IStatus.WARNING, e, "Unregistering the metrics MBean failed."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Record a pkg-config process that was started.
+	 *
+	 * @param nanos Time from start until the output was read or the process was given up.
+	 */
+	public void recordSpawn(long nanos) {
+		this.spawnLatency.record(nanos);
+	}
+
+	/**
+	 * Record the resolution of a single package.
+	 *
+	 * @param nanos Duration.
+	 */
+	public void recordResolution(long nanos) {
+		this.resolutionLatency.record(nanos);
+	}
+
+	/**
+	 * Record a call to the external setting provider.
+	 *
+	 * @param project Project name.
+	 * @param nanos Duration.
+	 * @param includePaths Number of include path entries produced.
+	 * @param libFiles Number of library file entries produced.
+	 * @param libPaths Number of library path entries produced.
+	 */
+	public void recordSettings(String project, long nanos, int includePaths, int libFiles, int libPaths) {
+		this.settingsLatency.record(nanos);
+		AtomicLong calls = this.settingsCalls.get(project);
+		if (calls == null) {
+			AtomicLong newCalls = new AtomicLong();
+			calls = this.settingsCalls.putIfAbsent(project, newCalls);
+			if (calls == null) {
+				calls = newCalls;
+			}
+		}
+		calls.incrementAndGet();
+		this.includePathEntries.addAndGet(includePaths);
+		this.libraryFileEntries.addAndGet(libFiles);
+		this.libraryPathEntries.addAndGet(libPaths);
+	}
+
+	/**
+	 * Record a job scheduled to add other flags to the tool options.
+	 */
+	public void recordOtherFlagsJob() {
+		this.otherFlagsJobs.incrementAndGet();
+	}
+
+	/**
+	 * Record a job scheduled to update the external setting providers.
+	 */
+	public void recordUpdateDataJob() {
+		this.updateDataJobs.incrementAndGet();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getSpawnLatency() {
+		return this.spawnLatency.getSnapshot();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getResolutionLatency() {
+		return this.resolutionLatency.getSnapshot();
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getSettingsLatency() {
+		return this.settingsLatency.getSnapshot();
+	}
+
+	@Override
+	public Map<String, Long> getSettingsCallsPerProject() {
+		Map<String, Long> calls = new HashMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> e : this.settingsCalls.entrySet()) {
+			calls.put(e.getKey(), Long.valueOf(e.getValue().get()));
+		}
+		return calls;
+	}
+
+	@Override
+	public long getIncludePathEntries() {
+		return this.includePathEntries.get();
+	}
+
+	@Override
+	public long getLibraryFileEntries() {
+		return this.libraryFileEntries.get();
+	}
+
+	@Override
+	public long getLibraryPathEntries() {
+		return this.libraryPathEntries.get();
+	}
+
+	@Override
+	public long getOtherFlagsJobs() {
+		return this.otherFlagsJobs.get();
+	}
+
+	@Override
+	public long getUpdateDataJobs() {
+		return this.updateDataJobs.get();
+	}
+
+	@Override
+	public void reset() {
+		this.spawnLatency.reset();
+		this.resolutionLatency.reset();
+		this.settingsLatency.reset();
+		this.settingsCalls.clear();
+		this.includePathEntries.set(0);
+		this.libraryFileEntries.set(0);
+		this.libraryPathEntries.set(0);
+		this.otherFlagsJobs.set(0);
+		this.updateDataJobs.set(0);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.Map;
+
+/**
+ * Management interface of the plug-in's metrics, published in the
+ * platform MBean server as {@value PkgConfigMetrics#OBJECT_NAME}.
+ *
+ */
+public interface PkgConfigMetricsMXBean {
+
+	/**
+	 * Get durations of the pkg-config processes, from starting
+	 * the process until its output has been read.
+	 *
+	 * @return Histogram.
+	 */
+	LatencyHistogram.Snapshot getSpawnLatency();
+
+	/**
+	 * Get durations of resolving the flags of a single package, including
+	 * the resolutions answered from the output cache.
+	 *
+	 * @return Histogram.
+	 */
+	LatencyHistogram.Snapshot getResolutionLatency();
+
+	/**
+	 * Get durations of the calls to the external setting provider.
+	 *
+	 * @return Histogram.
+	 */
+	LatencyHistogram.Snapshot getSettingsLatency();
+
+	/**
+	 * Get the number of calls to the external setting provider of each project.
+	 *
+	 * @return Calls by project name.
+	 */
+	Map<String, Long> getSettingsCallsPerProject();
+
+	long getIncludePathEntries();
+
+	long getLibraryFileEntries();
+
+	long getLibraryPathEntries();
+
+	/**
+	 * Get the number of jobs that add other flags to the tool options.
+	 *
+	 * @return Scheduled jobs.
+	 */
+	long getOtherFlagsJobs();
+
+	/**
+	 * Get the number of jobs that update the external setting
+	 * providers when the property tab applies its changes.
+	 *
+	 * @return Scheduled jobs.
+	 */
+	long getUpdateDataJobs();
+
+	/**
+	 * Set all metrics to zero.
+	 */
+	void reset();
+
+}
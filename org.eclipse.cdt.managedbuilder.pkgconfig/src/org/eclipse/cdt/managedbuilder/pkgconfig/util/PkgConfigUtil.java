@@ -10,13 +10,21 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.pkgconfig.util;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
 import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 /**
  * Runs pkg-config utility in the command line and outputs necessary
@@ -33,57 +41,386 @@ public class PkgConfigUtil {
 	private static final String OUTPUT_ALL = "--cflags --libs"; //$NON-NLS-1$
 	private static final String OUTPUT_ONLY_LIB_PATHS = "--libs-only-L"; //$NON-NLS-1$
 	private static final String OUTPUT_ONLY_LIB_FILES = "--libs-only-l"; //$NON-NLS-1$
+	private static final String OUTPUT_PC_PATH = "--variable pc_path"; //$NON-NLS-1$
+	private static final String ENV_PKG_CONFIG_PATH = "PKG_CONFIG_PATH"; //$NON-NLS-1$
+	private static final String ENV_PKG_CONFIG_LIBDIR = "PKG_CONFIG_LIBDIR"; //$NON-NLS-1$
+
+	//used if pkg-config cannot tell its default search path
+	private static final String[] DEFAULT_PC_PATH = {
+		"/usr/local/lib/pkgconfig", "/usr/local/share/pkgconfig", //$NON-NLS-1$ //$NON-NLS-2$
+		"/usr/lib/pkgconfig", "/usr/lib64/pkgconfig", "/usr/share/pkgconfig" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	};
+
+	//maximum number of outputs kept in memory
+	private static final int CACHE_SIZE = 512;
+
+	//outputs shared by all projects
+	private static final OutputCache outputCache = new OutputCache(CACHE_SIZE);
+
+	//failed resolutions are retried after this many milliseconds
+	private static final long FAILURE_TTL = 30000;
+	private static final FailureCache failureCache = new FailureCache(FAILURE_TTL, CACHE_SIZE);
+
+	//pkg-config is not launched after it could not be started this many times in a row
+	private static final int BREAKER_THRESHOLD = 3;
+	//unless the preferences change, a new attempt is made after this many milliseconds
+	private static final long BREAKER_RETRY_INTERVAL = 5*60*1000;
+	private static final CircuitBreaker breaker = new CircuitBreaker(BREAKER_THRESHOLD,
+			BREAKER_RETRY_INTERVAL);
+
+	//incremented whenever cached flags may have become out of date
+	private static final AtomicInteger generation = new AtomicInteger();
+
+	//in-process .pc file resolver and the search path it was created for
+	private static PcFileResolver resolver;
+	private static List<String> resolverSearchPath;
+
+	//packages of the search path directories, replaces "pkg-config --list-all"
+	private static final PackageIndex packageIndex = new PackageIndex();
+
+	//search path directories and their modification times when last checked
+	private static List<String> watchedSearchPath;
+	private static long[] watchedLastModified;
+
+	//default search path of pkg-config and the pkg-config location it was asked from
+	private static List<String> defaultSearchPath;
+	private static String defaultSearchPathKey;
 
 	/**
 	 * Get options needed to build the given package.
-	 * Does not like spaces on paths except that getAllPackages seem to work.
 	 * 
 	 * @param command
 	 * @param pkg
-	 * @return
+	 * @return Output or null if pkg-config failed or didn't finish in time.
 	 */
 	private static String getPkgOutput(String command, String pkg) {
-		ProcessBuilder pb = null;
-		String confPath = PreferenceStore.getPkgConfigPath();
-		if (OSDetector.isUnix() || OSDetector.isMac()) {
-			if (confPath!=null && !confPath.equals("")) { //$NON-NLS-1$
-				confPath = confPath.replace(" ", "\\ "); //$NON-NLS-1$ //$NON-NLS-2$
-				pb = new ProcessBuilder("bash", "-c", confPath+ //$NON-NLS-1$ //$NON-NLS-2$
-						Separators.getFileSeparator()+PKG_CONFIG+" "+command+" "+pkg); //$NON-NLS-1$ //$NON-NLS-2$
-			} else {
-				pb = new ProcessBuilder("bash", "-c", PKG_CONFIG+" "+command+" "+pkg); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		return getOutput(command, pkg, null).getOutput();
+	}
+
+	/**
+	 * Get options needed to build the given package.
+	 * Outputs are cached in memory and failures for a short time. On a cache
+	 * miss the .pc files are resolved in-process if possible, otherwise
+	 * pkg-config is launched. Outputs resolved in-process are dropped from
+	 * the cache when any of their .pc files changes, all outputs when
+	 * packages are added to or removed from the search path.
+	 * pkg-config is killed if it doesn't finish before the deadline set
+	 * in the preferences or if the monitor is cancelled.
+	 * 
+	 * @param command
+	 * @param pkg
+	 * @param monitor Progress monitor or null.
+	 * @return Result, never null.
+	 */
+	public static ProcessResult getOutput(String command, String pkg, IProgressMonitor monitor) {
+		List<String> searchPath = getSearchPath();
+		checkSearchPath(searchPath);
+		//the same package may resolve differently with another search path
+		String key = command + ' ' + pkg + '\n' + PreferenceStore.getPkgConfigPath()
+				+ '\n' + searchPath;
+		String output = outputCache.get(key);
+		if (output != null) {
+			return ProcessResult.completed(Collections.singletonList(output));
+		}
+		ProcessResult result = failureCache.get(key);
+		if (result != null) {
+			return result;
+		}
+		//fingerprint of the .pc files if resolved in-process
+		Fingerprint fingerprint = null;
+		if (isBuiltinResolverUsed()) {
+			PcFileResolver.Resolution res = getResolver().resolve(pkg.trim().split("\\s+")); //$NON-NLS-1$
+			if (res != null) {
+				String resolved = formatOutput(command, res);
+				if (resolved != null) {
+					result = ProcessResult.completed(Collections.singletonList(resolved));
+					fingerprint = Fingerprint.of(searchPath, res.getFiles());
+				}
 			}
-		} else if (OSDetector.isWindows()) {
-			if (confPath!=null && !confPath.equals("")) { //$NON-NLS-1$
-				pb = new ProcessBuilder("cmd", "/c", "\""+confPath+ //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-						Separators.getFileSeparator()+PKG_CONFIG+"\"", command, pkg);	//$NON-NLS-1$ 
-			} else {
-				pb = new ProcessBuilder("cmd", "/c", PKG_CONFIG, command, pkg);	//$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (result == null) {
+			result = runPkgConfig(command, pkg, monitor);
+		}
+		if (result.getOutput() != null) {
+			outputCache.put(key, result.getOutput(), fingerprint);
+		} else if (result.getOutcome() != ProcessResult.Outcome.CANCELLED) {
+			failureCache.put(key, result);
+			//start failures are logged by runPkgConfig, an unknown package by its exit code
+			if (result.getOutcome() == ProcessResult.Outcome.TIMED_OUT
+					|| result.getOutcome() == ProcessResult.Outcome.FAILED
+					|| (result.isCompleted() && !result.isSuccessful())) {
+				Activator.getDefault().log(result.toStatus());
 			}
 		}
-		Process p = null;
-		try {
-			if (pb != null) {
-				p = pb.start();
+		return result;
+	}
+
+	/**
+	 * Get the cache of pkg-config outputs.
+	 *
+	 * @return Output cache.
+	 */
+	public static OutputCache getOutputCache() {
+		return outputCache;
+	}
+
+	/**
+	 * Forget cached outputs, e.g. after packages have been installed or removed.
+	 */
+	public static void clearCache() {
+		outputCache.clear();
+		failureCache.clear();
+		packageIndex.clear();
+		//parsed .pc files and closures don't notice files that shadow them
+		synchronized (PkgConfigUtil.class) {
+			resolver = null;
+		}
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Clear the caches if packages have been added to or removed from
+	 * a search path directory since the previous check. Outputs of
+	 * pkg-config don't have fingerprints, this is how they get updated.
+	 *
+	 * @param searchPath Current search path.
+	 */
+	private static void checkSearchPath(List<String> searchPath) {
+		long[] lastModified = new long[searchPath.size()];
+		for (int i = 0; i < lastModified.length; i++) {
+			lastModified[i] = new File(searchPath.get(i)).lastModified();
+		}
+		boolean changed;
+		synchronized (PkgConfigUtil.class) {
+			//another search path is cached under other keys
+			changed = searchPath.equals(watchedSearchPath)
+					&& !Arrays.equals(lastModified, watchedLastModified);
+			watchedSearchPath = searchPath;
+			watchedLastModified = lastModified;
+		}
+		if (changed) {
+			clearCache();
+		}
+	}
+
+	/**
+	 * Forget failures and try launching pkg-config again.
+	 * Called when the pkg-config preferences change.
+	 */
+	public static void preferencesChanged() {
+		failureCache.clear();
+		breaker.reset();
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Get a number that changes whenever flags resolved earlier may
+	 * have become out of date, i.e. the caches were cleared, the
+	 * pkg-config preferences changed or packages were added to or
+	 * removed from the search path.
+	 *
+	 * @return Generation.
+	 */
+	public static int getGeneration() {
+		checkSearchPath(getSearchPath());
+		return generation.get();
+	}
+
+	/**
+	 * Check if packages are resolved by reading the .pc files in-process.
+	 *
+	 * @return True if the built-in resolver is enabled and supported.
+	 */
+	public static boolean isBuiltinResolverUsed() {
+		return PreferenceStore.isBuiltinResolverEnabled() && PcFileResolver.isSupported();
+	}
+
+	/**
+	 * Get the circuit breaker that stops launching pkg-config
+	 * when it cannot be started.
+	 *
+	 * @return Circuit breaker.
+	 */
+	public static CircuitBreaker getCircuitBreaker() {
+		return breaker;
+	}
+
+	/**
+	 * Format the flags of a resolution like pkg-config's output.
+	 *
+	 * @param command
+	 * @param res
+	 * @return Output or null if the command is not supported.
+	 */
+	private static String formatOutput(String command, PcFileResolver.Resolution res) {
+		List<String> flags = new ArrayList<String>();
+		if (command.equals(OUTPUT_ALL)) {
+			flags.addAll(res.getCflags());
+			flags.addAll(res.getLibs());
+		} else if (command.equals(OUTPUT_CFLAGS)) {
+			flags.addAll(res.getCflags());
+		} else if (command.equals(OUTPUT_LIBS)) {
+			flags.addAll(res.getLibs());
+		} else if (command.equals(OUTPUT_ONLY_LIB_PATHS) || command.equals(OUTPUT_ONLY_LIB_FILES)) {
+			//-L or -l
+			String prefix = command.substring(command.length()-2);
+			for (String flag : res.getLibs()) {
+				if (flag.startsWith(prefix)) {
+					flags.add(flag);
+				}
 			}
-		} catch (IOException e) {
-			Activator.getDefault().log(e, "Starting a process (executing a command line script) failed."); //$NON-NLS-1$
-		}
-		if (p != null) {
-			String line;
-			BufferedReader input = new BufferedReader
-					(new InputStreamReader(p.getInputStream()));
-			try {
-				line = input.readLine();
-				if (line != null) {
-					return line;
+		} else {
+			return null;
+		}
+		return FlagTokenizer.join(flags);
+	}
+
+	/**
+	 * Get the flags of a resolution. The arguments are classified as they
+	 * are so that quotes and backslashes in them are kept.
+	 *
+	 * @param res
+	 * @return Flags.
+	 */
+	private static PkgConfigFlags toFlags(PcFileResolver.Resolution res) {
+		List<String> args = new ArrayList<String>(res.getCflags());
+		args.addAll(res.getLibs());
+		return Parser.parseFlags(args);
+	}
+
+	/**
+	 * Resolve packages in-process if the built-in resolver is used.
+	 *
+	 * @param pkgs
+	 * @return Resolution or null if not resolved in-process.
+	 */
+	private static PcFileResolver.Resolution resolveInProcess(String[] pkgs) {
+		return isBuiltinResolverUsed() ? getResolver().resolve(pkgs) : null;
+	}
+
+	/**
+	 * Get the resolver for the current search path. A new resolver is
+	 * created when a search path directory has changed.
+	 *
+	 * @return Resolver.
+	 */
+	private static synchronized PcFileResolver getResolver() {
+		List<String> searchPath = getSearchPath();
+		//drops the resolver if packages were added or removed
+		checkSearchPath(searchPath);
+		if (resolver == null || !searchPath.equals(resolverSearchPath)) {
+			resolver = new PcFileResolver(searchPath);
+			resolverSearchPath = searchPath;
+		}
+		return resolver;
+	}
+
+	/**
+	 * Get the directories that are searched for .pc files in the order
+	 * of precedence: PKG_CONFIG_PATH followed by PKG_CONFIG_LIBDIR or
+	 * pkg-config's default search path if PKG_CONFIG_LIBDIR is not set.
+	 *
+	 * @return Search path.
+	 */
+	public static List<String> getSearchPath() {
+		List<String> searchPath = new ArrayList<String>();
+		addPaths(searchPath, PreferenceStore.getPkgConfigPath());
+		addPaths(searchPath, System.getenv(ENV_PKG_CONFIG_PATH));
+		String libDir = PreferenceStore.getPkgConfigLibDir();
+		if (libDir == null || libDir.length() == 0) {
+			libDir = System.getenv(ENV_PKG_CONFIG_LIBDIR);
+		}
+		if (libDir != null && libDir.length() > 0) {
+			addPaths(searchPath, libDir);
+		} else {
+			searchPath.addAll(getDefaultSearchPath());
+		}
+		return searchPath;
+	}
+
+	private static void addPaths(List<String> searchPath, String paths) {
+		if (paths != null) {
+			for (String path : paths.split(Separators.getPathSeparator())) {
+				if (path.length() > 0 && !searchPath.contains(path)) {
+					searchPath.add(path);
 				}
-				input.close();
-			} catch (IOException e) {
-				Activator.getDefault().log(e, "Reading a line from the input failed."); //$NON-NLS-1$
 			}
 		}
-		return null;
+	}
+
+	/**
+	 * Get pkg-config's compiled-in search path. Asked from pkg-config
+	 * once per pkg-config binary and remembered until the binary changes.
+	 *
+	 * @return Default search path.
+	 */
+	private static synchronized List<String> getDefaultSearchPath() {
+		String key = getDefaultSearchPathKey();
+		if (defaultSearchPath == null || !key.equals(defaultSearchPathKey)) {
+			//remembered from an earlier session, unless pkg-config was not found
+			boolean persistent = !key.equals(PKG_CONFIG);
+			List<String> searchPath = persistent ? ResolutionCache.getDefaultSearchPath(key) : null;
+			if (searchPath == null) {
+				searchPath = new ArrayList<String>();
+				addPaths(searchPath, runPkgConfig(OUTPUT_PC_PATH, PKG_CONFIG, null).getOutput());
+				if (searchPath.isEmpty()) {
+					Collections.addAll(searchPath, DEFAULT_PC_PATH);
+				} else if (persistent) {
+					ResolutionCache.putDefaultSearchPath(key, searchPath);
+				}
+			}
+			defaultSearchPath = searchPath;
+			defaultSearchPathKey = key;
+		}
+		return defaultSearchPath;
+	}
+
+	/**
+	 * Get the key the default search path is remembered with: the absolute
+	 * path of the pkg-config binary and its modification time, so that an
+	 * upgraded or replaced pkg-config is asked again.
+	 *
+	 * @return Key or just "pkg-config" if the binary was not found.
+	 */
+	private static String getDefaultSearchPathKey() {
+		String binary = PkgConfigLauncher.getBinary();
+		File file = new File(binary);
+		if (!file.isAbsolute()) {
+			return binary;
+		}
+		return binary + '\n' + file.lastModified();
+	}
+
+	/**
+	 * Get options needed to build the given package by running pkg-config.
+	 * 
+	 * @param command
+	 * @param pkg
+	 * @param monitor
+	 * @return Result.
+	 */
+	private static ProcessResult runPkgConfig(String command, String pkg, IProgressMonitor monitor) {
+		if (!breaker.allowCall()) {
+			return ProcessResult.failed(ProcessResult.Outcome.NOT_STARTED,
+					"pkg-config was not launched because it could not be started earlier"); //$NON-NLS-1$
+		}
+		ProcessBuilder pb = PkgConfigLauncher.createProcessBuilder(command, pkg);
+		Object event = FlightRecorderEvents.INVOCATION.begin();
+		ProcessResult result = ProcessExecutor.run(pb, PreferenceStore.getTimeout(), monitor);
+		FlightRecorderEvents.INVOCATION.commit(event, command, pkg,
+				Integer.valueOf(result.getExitCode()), result.getOutcome().toString());
+		if (result.getOutcome() == ProcessResult.Outcome.NOT_STARTED) {
+			Activator.getDefault().log(result.toStatus());
+			if (breaker.recordFailure()) {
+				Activator.getDefault().log(IStatus.WARNING, null, "pkg-config could not be started " //$NON-NLS-1$
+						+ BREAKER_THRESHOLD + " times in a row. It is launched again after " //$NON-NLS-1$
+						+ BREAKER_RETRY_INTERVAL/60000 + " minutes or as soon as the pkg-config" //$NON-NLS-1$
+						+ " preferences change."); //$NON-NLS-1$
+			}
+		} else {
+			breaker.recordSuccess();
+		}
+		return result;
 	}
 	
 	/**
@@ -96,6 +433,201 @@ public class PkgConfigUtil {
 		return getPkgOutput(OUTPUT_ALL, pkg);
 	}
 	
+	/**
+	 * Get compiler and linker flags needed to build the given package.
+	 * Runs pkg-config only once and splits the output by the kind of the flag.
+	 *
+	 * @param pkg
+	 * @return Flags or null if pkg-config failed.
+	 */
+	public static PkgConfigFlags getFlags(String pkg) {
+		return getFlags(pkg, null);
+	}
+
+	/**
+	 * Get compiler and linker flags needed to build the given package.
+	 *
+	 * @param pkg
+	 * @param monitor Progress monitor or null.
+	 * @return Flags or null if pkg-config failed or didn't finish in time.
+	 * @throws OperationCanceledException if the monitor was cancelled.
+	 */
+	public static PkgConfigFlags getFlags(String pkg, IProgressMonitor monitor) {
+		long start = System.nanoTime();
+		Object event = FlightRecorderEvents.RESOLUTION.begin();
+		PkgConfigFlags flags;
+		PcFileResolver.Resolution res = resolveInProcess(new String[] {pkg});
+		if (res != null) {
+			flags = toFlags(res);
+		} else {
+			ProcessResult result = getOutput(OUTPUT_ALL, pkg, monitor);
+			if (result.getOutcome() == ProcessResult.Outcome.CANCELLED) {
+				throw new OperationCanceledException();
+			}
+			flags = Parser.parseFlags(result.getOutput());
+		}
+		PkgConfigMetrics.getDefault().recordResolution(System.nanoTime() - start);
+		FlightRecorderEvents.RESOLUTION.commit(event, pkg, Boolean.valueOf(flags != null));
+		return flags;
+	}
+
+	/**
+	 * Get compiler and linker flags needed to build the given packages.
+	 * The packages are resolved in-process if possible, otherwise
+	 * pkg-config is run once for the whole set of packages. If that fails
+	 * the packages are resolved separately and concurrently so that a single
+	 * broken package doesn't drop the flags of the others.
+	 *
+	 * @param pkgs
+	 * @return Flags of all the packages.
+	 */
+	public static PkgConfigFlags getFlags(String[] pkgs) {
+		return getFlags(pkgs, null);
+	}
+
+	/**
+	 * Get compiler and linker flags needed to build the given packages.
+	 *
+	 * @param pkgs
+	 * @param monitor Progress monitor or null.
+	 * @return Flags of all the packages.
+	 * @throws OperationCanceledException if the monitor was cancelled.
+	 */
+	public static PkgConfigFlags getFlags(String[] pkgs, final IProgressMonitor monitor) {
+		if (pkgs.length == 0) {
+			return PkgConfigFlags.EMPTY;
+		}
+		PcFileResolver.Resolution res = resolveInProcess(pkgs);
+		if (res != null) {
+			return toFlags(res);
+		}
+		StringBuilder sB = new StringBuilder();
+		for (String pkg : pkgs) {
+			if (sB.length() > 0) {
+				sB.append(' ');
+			}
+			sB.append(pkg);
+		}
+		ProcessResult result = getOutput(OUTPUT_ALL, sB.toString(), monitor);
+		if (result.getOutcome() == ProcessResult.Outcome.CANCELLED) {
+			throw new OperationCanceledException();
+		}
+		PkgConfigFlags flags = Parser.parseFlags(result.getOutput());
+		//no point in retrying packages one by one if pkg-config hangs
+		if (flags == null && pkgs.length > 1 && result.isCompleted()) {
+			ArrayList<Callable<PkgConfigFlags>> tasks = new ArrayList<Callable<PkgConfigFlags>>();
+			for (final String pkg : pkgs) {
+				tasks.add(new Callable<PkgConfigFlags>() {
+					@Override
+					public PkgConfigFlags call() {
+						try {
+							return getFlags(pkg, monitor);
+						} catch (OperationCanceledException e) {
+							return null;
+						}
+					}
+				});
+			}
+			flags = PkgConfigFlags.merge(ResolutionExecutor.invokeAll(tasks));
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+		}
+		return flags != null ? flags : PkgConfigFlags.EMPTY;
+	}
+
+	/**
+	 * Get compiler and linker flags of each of the given packages separately.
+	 * Packages found in the resolution cache are not resolved again, others
+	 * are resolved concurrently.
+	 *
+	 * @param pkgs
+	 * @param monitor Progress monitor or null.
+	 * @return Flags in the order of the packages, null for the packages
+	 * that failed.
+	 * @throws OperationCanceledException if the monitor was cancelled.
+	 */
+	public static List<PkgConfigFlags> getFlagsOfEach(String[] pkgs, final IProgressMonitor monitor) {
+		ArrayList<Callable<PkgConfigFlags>> tasks = new ArrayList<Callable<PkgConfigFlags>>();
+		for (final String pkg : pkgs) {
+			tasks.add(new Callable<PkgConfigFlags>() {
+				@Override
+				public PkgConfigFlags call() {
+					PkgConfigFlags flags = ResolutionCache.get(pkg);
+					if (flags == null) {
+						try {
+							flags = resolveFlags(pkg, monitor);
+						} catch (OperationCanceledException e) {
+							return null;
+						}
+					}
+					return flags;
+				}
+			});
+		}
+		List<PkgConfigFlags> flags = ResolutionExecutor.invokeAll(tasks);
+		if (monitor != null && monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		return flags;
+	}
+
+	/**
+	 * Resolve the flags of a package and put them to the resolution cache
+	 * together with the .pc files of the resolution. Packages that cannot
+	 * be resolved in-process are resolved by getFlags() and not cached.
+	 *
+	 * @param pkg
+	 * @param monitor Progress monitor or null.
+	 * @return Flags or null if the package cannot be resolved.
+	 * @throws OperationCanceledException if the monitor was cancelled.
+	 */
+	static PkgConfigFlags resolveFlags(String pkg, IProgressMonitor monitor) {
+		if (isBuiltinResolverUsed()) {
+			long start = System.nanoTime();
+			Object event = FlightRecorderEvents.RESOLUTION.begin();
+			List<String> searchPath = getSearchPath();
+			PcFileResolver.Resolution res = getResolver().resolve(new String[] {pkg});
+			if (res != null) {
+				PkgConfigFlags flags = toFlags(res);
+				PkgConfigMetrics.getDefault().recordResolution(System.nanoTime() - start);
+				FlightRecorderEvents.RESOLUTION.commit(event, pkg, Boolean.valueOf(flags != null));
+				ResolutionCache.put(pkg, flags, searchPath, res.getFiles());
+				return flags;
+			}
+		}
+		return getFlags(pkg, monitor);
+	}
+
+	/**
+	 * Merge flags that were resolved separately for each of the given packages.
+	 * If the packages can be resolved in-process, the package graph leaves out
+	 * the packages that another one of them requires and puts each package
+	 * before the ones it requires. Duplicate flags are removed.
+	 *
+	 * @param pkgs
+	 * @param flags Flags in the order of the packages, null for the packages
+	 * that failed.
+	 * @return Merged flags.
+	 */
+	public static PkgConfigFlags mergeFlags(String[] pkgs, List<PkgConfigFlags> flags) {
+		List<PkgConfigFlags> ordered = flags;
+		if (isBuiltinResolverUsed()) {
+			List<String> order = getResolver().getGraph().getMergeOrder(pkgs);
+			if (order != null) {
+				Map<String, PkgConfigFlags> flagsOfPkg = new HashMap<String, PkgConfigFlags>();
+				for (int i=0; i<pkgs.length; i++) {
+					flagsOfPkg.put(pkgs[i], flags.get(i));
+				}
+				ordered = new ArrayList<PkgConfigFlags>(order.size());
+				for (String pkg : order) {
+					ordered.add(flagsOfPkg.get(pkg));
+				}
+			}
+		}
+		return PkgConfigFlags.merge(ordered);
+	}
+
 	/**
 	 * Get libraries (files and paths) needed to build the given package.
 	 * 
@@ -138,48 +670,61 @@ public class PkgConfigUtil {
 	
 	/**
 	 * Get all packages that pkg-config utility finds (package name with description).
+	 * The search path is scanned in-process unless the built-in resolver
+	 * is disabled.
 	 * 
 	 * @return
 	 */
 	public static ArrayList<String> getAllPackages() {
-		ProcessBuilder pb = null;
-		String confPath = PreferenceStore.getPkgConfigPath();
-		if (OSDetector.isUnix() || OSDetector.isMac()) {
-			if (confPath!=null && !confPath.equals("")) { //$NON-NLS-1$
-				confPath = confPath.replace(" ", "\\ "); //$NON-NLS-1$ //$NON-NLS-2$
-				pb = new ProcessBuilder("bash", "-c", confPath+ //$NON-NLS-1$ //$NON-NLS-2$
-						Separators.getFileSeparator()+PKG_CONFIG+" "+LIST_PACKAGES); //$NON-NLS-1$ 
-			} else {
-				pb = new ProcessBuilder("bash", "-c", PKG_CONFIG+" "+LIST_PACKAGES); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-			}
-		} else if (OSDetector.isWindows()) {
-			if (confPath!=null && !confPath.equals("")) { //$NON-NLS-1$
-				pb = new ProcessBuilder("cmd", "/c", "\""+confPath+ //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-						Separators.getFileSeparator()+PKG_CONFIG+"\"", LIST_PACKAGES); //$NON-NLS-1$ 
-			} else {
-				pb = new ProcessBuilder("cmd", "/c", PKG_CONFIG, LIST_PACKAGES); //$NON-NLS-1$ //$NON-NLS-2$
-			}
+		List<PackageEntry> entries = getPackages();
+		if (entries == null) {
+			return null;
 		}
-		try {
-			if (pb !=null) {
-				Process p = pb.start();
-				String line;
-				BufferedReader input = new BufferedReader
-						(new InputStreamReader(p.getInputStream()));
-				ArrayList<String> packageList = new ArrayList<String>();
-				do {
-					line = input.readLine();
-					if (line != null) {
-						packageList.add(line);
-					}
-				} while(line != null);
-				input.close();
-				return packageList;
+		ArrayList<String> lines = new ArrayList<String>(entries.size());
+		for (PackageEntry entry : entries) {
+			lines.add(entry.toListLine());
+		}
+		return lines;
+	}
+
+	/**
+	 * Get all packages that pkg-config utility finds. Version and .pc file
+	 * path are known only if the search path was scanned in-process.
+	 * 
+	 * @return Packages or null if pkg-config failed.
+	 */
+	public static List<PackageEntry> getPackages() {
+		if (isBuiltinResolverUsed()) {
+			return packageIndex.getPackages(getSearchPath());
+		}
+		ArrayList<String> lines = listAllPackages();
+		if (lines == null) {
+			return null;
+		}
+		ArrayList<String> names = Parser.parsePackageList(lines);
+		ArrayList<String> descs = Parser.parseDescription(lines);
+		List<PackageEntry> entries = new ArrayList<PackageEntry>(lines.size());
+		for (int i=0; i<names.size(); i++) {
+			entries.add(new PackageEntry(names.get(i), null, descs.get(i), "", "")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return entries;
+	}
+
+	/**
+	 * Run "pkg-config --list-all".
+	 * 
+	 * @return Output lines or null if pkg-config failed.
+	 */
+	private static ArrayList<String> listAllPackages() {
+		ProcessResult result = runPkgConfig(LIST_PACKAGES, null, null);
+		if (!result.isCompleted()) {
+			//start failures are logged by runPkgConfig
+			if (result.getOutcome() != ProcessResult.Outcome.NOT_STARTED) {
+				Activator.getDefault().log(result.toStatus());
 			}
-		} catch (IOException e) {
-			e.printStackTrace();
+			return null;
 		}
-		return null;
+		return new ArrayList<String>(result.getLines());
 	}
 	
 }
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Runs processes with a deadline. The process is killed if it doesn't
+ * finish in time or if the progress monitor is cancelled.
+ *
+ * Standard output and standard error are drained concurrently so that
+ * a full pipe never stalls the process, the exit code is captured and
+ * every process is waited for so that no zombies are left behind.
+ * Processes that don't exit even after they have been killed are counted
+ * as leaked until they finally exit.
+ *
+ */
+public class ProcessExecutor {
+
+	//how often the progress monitor is checked, in milliseconds
+	private static final long POLL_INTERVAL = 50;
+
+	//how long a killed process is given to exit, in milliseconds
+	private static final long KILL_GRACE_PERIOD = 1000;
+
+	//threads that drain the output of the processes and wait for them
+	private static final ExecutorService streamReaders =
+			Executors.newCachedThreadPool(new DaemonThreadFactory("pkg-config process reader")); //$NON-NLS-1$
+
+	//statistics
+	private static final AtomicLong started = new AtomicLong();
+	static final AtomicInteger live = new AtomicInteger();
+	static final AtomicInteger leaked = new AtomicInteger();
+
+	/**
+	 * Start a process and wait until it finishes, the deadline passes
+	 * or the monitor is cancelled.
+	 *
+	 * @param pb Process to start.
+	 * @param timeout Deadline in milliseconds from now.
+	 * @param monitor Progress monitor or null.
+	 * @return Result, never null.
+	 */
+	public static ProcessResult run(ProcessBuilder pb, long timeout, IProgressMonitor monitor) {
+		String cmd = String.valueOf(pb.command());
+		long startTime = System.nanoTime();
+		Process p;
+		try {
+			p = pb.start();
+		} catch (IOException e) {
+			return ProcessResult.failed(ProcessResult.Outcome.NOT_STARTED,
+					"Starting " + cmd + " failed: " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		started.incrementAndGet();
+		live.incrementAndGet();
+		Waiter waiter = new Waiter(p);
+		Future<Integer> exit = streamReaders.submit(waiter);
+		Future<List<String>> stdout = streamReaders.submit(new StreamReader(p.getInputStream()));
+		Future<List<String>> stderr = streamReaders.submit(new StreamReader(p.getErrorStream()));
+		//pkg-config doesn't read its standard input
+		close(p.getOutputStream());
+		long deadline = System.currentTimeMillis() + timeout;
+		boolean done = false;
+		try {
+			while (true) {
+				if (monitor != null && monitor.isCanceled()) {
+					return ProcessResult.failed(ProcessResult.Outcome.CANCELLED,
+							cmd + " was cancelled"); //$NON-NLS-1$
+				}
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return ProcessResult.failed(ProcessResult.Outcome.TIMED_OUT,
+							cmd + " did not finish in " + timeout + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				try {
+					int exitCode = exit.get(Math.min(remaining, POLL_INTERVAL),
+							TimeUnit.MILLISECONDS).intValue();
+					//the streams end when the process has exited unless a child keeps them open
+					remaining = Math.max(deadline - System.currentTimeMillis(), POLL_INTERVAL);
+					List<String> out = stdout.get(remaining, TimeUnit.MILLISECONDS);
+					List<String> err = stderr.get(remaining, TimeUnit.MILLISECONDS);
+					done = true;
+					return ProcessResult.completed(exitCode, out, err);
+				} catch (TimeoutException e) {
+					//still running
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return ProcessResult.failed(ProcessResult.Outcome.CANCELLED,
+					cmd + " was interrupted"); //$NON-NLS-1$
+		} catch (ExecutionException e) {
+			return ProcessResult.failed(ProcessResult.Outcome.FAILED,
+					"Reading the output of " + cmd + " failed: " + e.getCause()); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			if (!done) {
+				kill(p, waiter, exit);
+			}
+			//release the pipes, this also ends readers blocked by a child that keeps them open
+			close(p.getInputStream());
+			close(p.getErrorStream());
+			PkgConfigMetrics.getDefault().recordSpawn(System.nanoTime() - startTime);
+		}
+	}
+
+	/**
+	 * Kill a process and give it a moment to exit. If it doesn't,
+	 * it is counted as leaked until the waiter sees it exit.
+	 *
+	 * @param p
+	 * @param waiter
+	 * @param exit
+	 */
+	private static void kill(Process p, Waiter waiter, Future<Integer> exit) {
+		p.destroy();
+		try {
+			exit.get(KILL_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			waiter.leak();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			waiter.leak();
+		} catch (ExecutionException e) {
+			//waitFor() doesn't fail
+		}
+	}
+
+	/**
+	 * Close a stream of a process ignoring errors.
+	 *
+	 * @param stream
+	 */
+	private static void close(Closeable stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			//already closed
+		}
+	}
+
+	/**
+	 * Get the number of processes started so far.
+	 *
+	 * @return Started processes.
+	 */
+	public static long getStartedProcessCount() {
+		return started.get();
+	}
+
+	/**
+	 * Get the number of processes that have not exited yet.
+	 *
+	 * @return Live processes.
+	 */
+	public static int getLiveProcessCount() {
+		return live.get();
+	}
+
+	/**
+	 * Get the number of processes that were killed but have not exited.
+	 *
+	 * @return Leaked processes.
+	 */
+	public static int getLeakedProcessCount() {
+		return leaked.get();
+	}
+
+	/**
+	 * Waits for a process to exit and keeps the counters up to date.
+	 *
+	 */
+	static class Waiter implements Callable<Integer> {
+
+		private final Process process;
+		private final AtomicBoolean leakedFlag = new AtomicBoolean();
+		private final AtomicBoolean exited = new AtomicBoolean();
+
+		Waiter(Process process) {
+			this.process = process;
+		}
+
+		@Override
+		public Integer call() throws InterruptedException {
+			try {
+				return Integer.valueOf(this.process.waitFor());
+			} finally {
+				synchronized (this) {
+					this.exited.set(true);
+					live.decrementAndGet();
+					if (this.leakedFlag.get()) {
+						leaked.decrementAndGet();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Count the process as leaked unless it has already exited.
+		 */
+		synchronized void leak() {
+			if (!this.exited.get() && this.leakedFlag.compareAndSet(false, true)) {
+				leaked.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Reads all lines of a stream and closes it.
+	 *
+	 */
+	static class StreamReader implements Callable<List<String>> {
+
+		private final InputStream in;
+
+		StreamReader(InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public List<String> call() throws IOException {
+			List<String> lines = new ArrayList<String>();
+			BufferedReader input = new BufferedReader(new InputStreamReader(this.in));
+			try {
+				String line;
+				while ((line = input.readLine()) != null) {
+					lines.add(line);
+				}
+			} finally {
+				input.close();
+			}
+			return lines;
+		}
+	}
+
+}
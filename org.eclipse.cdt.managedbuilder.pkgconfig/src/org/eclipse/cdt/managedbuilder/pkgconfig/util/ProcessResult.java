@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Result of running pkg-config. Tells whether the process completed
+ * and carries its output or the reason why it didn't complete.
+ *
+ */
+public class ProcessResult {
+
+	/**
+	 * How the invocation ended.
+	 */
+	public enum Outcome {
+		/** The process ran to completion. */
+		COMPLETED,
+		/** The process could not be started, e.g. pkg-config was not found. */
+		NOT_STARTED,
+		/** The output of the process could not be read. */
+		FAILED,
+		/** The process was killed because it didn't finish in time. */
+		TIMED_OUT,
+		/** The process was killed because the operation was cancelled. */
+		CANCELLED
+	}
+
+	//exit code used when the process didn't complete
+	public static final int NO_EXIT_CODE = -1;
+
+	private final Outcome outcome;
+	private final int exitCode;
+	private final List<String> lines;
+	private final List<String> errorLines;
+	private final String message;
+
+	private ProcessResult(Outcome outcome, int exitCode, List<String> lines,
+			List<String> errorLines, String message) {
+		this.outcome = outcome;
+		this.exitCode = exitCode;
+		this.lines = lines;
+		this.errorLines = errorLines;
+		this.message = message;
+	}
+
+	/**
+	 * Create a result of a successful invocation.
+	 *
+	 * @param lines Lines written to the standard output.
+	 * @return Result.
+	 */
+	public static ProcessResult completed(List<String> lines) {
+		return completed(0, lines, Collections.<String>emptyList());
+	}
+
+	/**
+	 * Create a result of a completed invocation.
+	 *
+	 * @param exitCode Exit code of the process.
+	 * @param lines Lines written to the standard output.
+	 * @param errorLines Lines written to the standard error.
+	 * @return Result.
+	 */
+	public static ProcessResult completed(int exitCode, List<String> lines, List<String> errorLines) {
+		String message = null;
+		if (exitCode != 0) {
+			StringBuilder sB = new StringBuilder("Exit code " + exitCode); //$NON-NLS-1$
+			for (String line : errorLines) {
+				sB.append('\n');
+				sB.append(line);
+			}
+			message = sB.toString();
+		}
+		return new ProcessResult(Outcome.COMPLETED, exitCode, Collections.unmodifiableList(lines),
+				Collections.unmodifiableList(errorLines), message);
+	}
+
+	/**
+	 * Create a result of an invocation that didn't complete.
+	 *
+	 * @param outcome
+	 * @param message Description of the failure.
+	 * @return Result.
+	 */
+	public static ProcessResult failed(Outcome outcome, String message) {
+		return new ProcessResult(outcome, NO_EXIT_CODE, Collections.<String>emptyList(),
+				Collections.<String>emptyList(), message);
+	}
+
+	/**
+	 * Get how the invocation ended.
+	 *
+	 * @return Outcome.
+	 */
+	public Outcome getOutcome() {
+		return this.outcome;
+	}
+
+	/**
+	 * Check if the process ran to completion.
+	 *
+	 * @return True if completed.
+	 */
+	public boolean isCompleted() {
+		return this.outcome == Outcome.COMPLETED;
+	}
+
+	/**
+	 * Check if the process completed with exit code 0.
+	 *
+	 * @return True if successful.
+	 */
+	public boolean isSuccessful() {
+		return isCompleted() && this.exitCode == 0;
+	}
+
+	/**
+	 * Get the exit code of the process.
+	 *
+	 * @return Exit code or NO_EXIT_CODE if the process didn't complete.
+	 */
+	public int getExitCode() {
+		return this.exitCode;
+	}
+
+	/**
+	 * Get the lines written to the standard error.
+	 *
+	 * @return Lines, empty if the invocation didn't complete.
+	 */
+	public List<String> getErrorLines() {
+		return this.errorLines;
+	}
+
+	/**
+	 * Get the lines written to the standard output.
+	 *
+	 * @return Lines, empty if the invocation didn't complete.
+	 */
+	public List<String> getLines() {
+		return this.lines;
+	}
+
+	/**
+	 * Get the first line of the standard output.
+	 *
+	 * @return Line or null if there was no output.
+	 */
+	public String getFirstLine() {
+		return this.lines.isEmpty() ? null : this.lines.get(0);
+	}
+
+	/**
+	 * Get the output of a successful invocation, i.e. the first line
+	 * of the standard output.
+	 *
+	 * @return Output or null if the invocation failed or there was no output.
+	 */
+	public String getOutput() {
+		return isSuccessful() ? getFirstLine() : null;
+	}
+
+	/**
+	 * Get description of the failure. For a process that completed with
+	 * a non-zero exit code the message contains the standard error.
+	 *
+	 * @return Message or null if successful.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * Convert to a status that can be logged or returned from a job.
+	 *
+	 * @return Status.
+	 */
+	public IStatus toStatus() {
+		switch (this.outcome) {
+		case COMPLETED:
+			return this.exitCode == 0 ? Status.OK_STATUS
+					: new Status(IStatus.WARNING, Activator.PLUGIN_ID, this.message);
+		case CANCELLED:
+			return Status.CANCEL_STATUS;
+		case TIMED_OUT:
+			return new Status(IStatus.WARNING, Activator.PLUGIN_ID, this.message);
+		default:
+			return new Status(IStatus.ERROR, Activator.PLUGIN_ID, this.message);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.outcome + (this.message != null ? ": " + this.message : ""); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Persistent cache of resolved package flags stored in the plug-in's
+ * state location so that the flags survive workspace restarts.
+ *
+ * An entry is valid as long as the search path is the same, none of the
+ * search path directories has changed and every .pc file that the package
+ * pulls in has the same modification time and size as when it was resolved.
+ * Only packages resolved in-process are cached since only then the .pc
+ * files are known.
+ *
+ * The cache is written shortly after it has changed and when the plug-in
+ * stops. It is written to a temporary file first so that an interrupted
+ * write never leaves a broken cache behind.
+ *
+ */
+public class ResolutionCache {
+
+	private static final String CACHE_FILE = "resolution.cache"; //$NON-NLS-1$
+	private static final String TMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+	//delay of writing the cache after a change in milliseconds, collects several changes
+	private static final long SAVE_DELAY = 10000;
+	//increase when the file format changes
+	private static final int VERSION = 2;
+
+	private static final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+	private static final Map<String, List<String>> defaultSearchPaths =
+			new ConcurrentHashMap<String, List<String>>();
+	private static volatile boolean loaded;
+	private static volatile boolean dirty;
+	private static final Job saveJob = new Job("Save pkg-config resolution cache") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			save();
+			return Status.OK_STATUS;
+		}
+	};
+
+	static {
+		saveJob.setSystem(true);
+	}
+
+	/**
+	 * Get cached flags of a package.
+	 *
+	 * @param pkg
+	 * @return Flags or null if not cached or the cached entry is out of date.
+	 */
+	public static PkgConfigFlags get(String pkg) {
+		if (!PreferenceStore.isBuiltinResolverEnabled() || !PcFileResolver.isSupported()) {
+			return null;
+		}
+		load();
+		Entry entry = entries.get(pkg);
+		if (entry == null) {
+			return null;
+		}
+		if (!entry.searchPath.equals(PkgConfigUtil.getSearchPath()) || !entry.fingerprint.isValid()) {
+			entries.remove(pkg);
+			dirty = true;
+			return null;
+		}
+		return entry.flags;
+	}
+
+	/**
+	 * Cache flags of a package resolved in-process.
+	 *
+	 * @param pkg
+	 * @param flags
+	 * @param searchPath Search path the package was resolved with.
+	 * @param files .pc files the flags were read from.
+	 */
+	public static void put(String pkg, PkgConfigFlags flags, List<String> searchPath,
+			List<PcFile> files) {
+		if (flags == null) {
+			return;
+		}
+		load();
+		entries.put(pkg, new Entry(searchPath, flags, Fingerprint.of(searchPath, files)));
+		changed();
+	}
+
+	/**
+	 * Get pkg-config's default search path remembered from an earlier session.
+	 *
+	 * @param binaryKey Absolute path of the pkg-config binary followed by
+	 * a new line and its modification time.
+	 * @return Search path or null if not known.
+	 */
+	public static List<String> getDefaultSearchPath(String binaryKey) {
+		load();
+		return defaultSearchPaths.get(binaryKey);
+	}
+
+	/**
+	 * Remember pkg-config's default search path. The search path remembered
+	 * for an earlier version of the same binary is dropped.
+	 *
+	 * @param binaryKey Absolute path of the pkg-config binary followed by
+	 * a new line and its modification time.
+	 * @param searchPath
+	 */
+	public static void putDefaultSearchPath(String binaryKey, List<String> searchPath) {
+		load();
+		int end = binaryKey.indexOf('\n');
+		if (end >= 0) {
+			String binary = binaryKey.substring(0, end + 1);
+			for (String key : defaultSearchPaths.keySet()) {
+				if (key.startsWith(binary)) {
+					defaultSearchPaths.remove(key);
+				}
+			}
+		}
+		defaultSearchPaths.put(binaryKey, new ArrayList<String>(searchPath));
+		changed();
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public static void clear() {
+		load();
+		entries.clear();
+		defaultSearchPaths.clear();
+		changed();
+	}
+
+	/**
+	 * Mark the cache changed and write it after a while.
+	 */
+	private static void changed() {
+		dirty = true;
+		saveJob.schedule(SAVE_DELAY);
+	}
+
+	/**
+	 * Get the cache file in the state location of the plug-in.
+	 *
+	 * @return Cache file or null if the plug-in is not active.
+	 */
+	private static File getCacheFile() {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return null;
+		}
+		return activator.getStateLocation().append(CACHE_FILE).toFile();
+	}
+
+	/**
+	 * Read the cache file once. A missing, old or broken file
+	 * results in an empty cache.
+	 */
+	private static void load() {
+		if (!loaded) {
+			loadFile();
+		}
+	}
+
+	private static synchronized void loadFile() {
+		if (loaded) {
+			return;
+		}
+		try {
+			readFile();
+		} finally {
+			loaded = true;
+		}
+	}
+
+	private static void readFile() {
+		File file = getCacheFile();
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(
+					new FileInputStream(file)));
+			try {
+				if (in.readInt() != VERSION) {
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String key = in.readUTF();
+					defaultSearchPaths.put(key, readList(in));
+				}
+				count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String pkg = in.readUTF();
+					entries.put(pkg, Entry.read(in));
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			entries.clear();
+			defaultSearchPaths.clear();
+			Activator.getDefault().log(IStatus.WARNING, e, "Reading the resolution cache failed."); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Write the cache to the state location if it has changed.
+	 */
+	public static synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		File file = getCacheFile();
+		if (file == null) {
+			return;
+		}
+		File tmp = new File(file.getPath() + TMP_SUFFIX);
+		//cleared before copying so that a change made while writing is saved next time
+		dirty = false;
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+					new FileOutputStream(tmp)));
+			try {
+				out.writeInt(VERSION);
+				//copy to get consistent counts while other threads keep adding
+				Map<String, List<String>> paths = new HashMap<String, List<String>>(defaultSearchPaths);
+				out.writeInt(paths.size());
+				for (Map.Entry<String, List<String>> e : paths.entrySet()) {
+					out.writeUTF(e.getKey());
+					writeList(out, e.getValue());
+				}
+				Map<String, Entry> copy = new HashMap<String, Entry>(entries);
+				out.writeInt(copy.size());
+				for (Map.Entry<String, Entry> e : copy.entrySet()) {
+					out.writeUTF(e.getKey());
+					e.getValue().write(out);
+				}
+			} finally {
+				out.close();
+			}
+			//rename doesn't replace an existing file on Windows
+			if ((file.exists() && !file.delete()) || !tmp.renameTo(file)) {
+				throw new IOException("Renaming " + tmp + " failed"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} catch (IOException e) {
+			dirty = true;
+			tmp.delete();
+			Activator.getDefault().log(IStatus.WARNING, e, "Writing the resolution cache failed."); //$NON-NLS-1$
+		}
+	}
+
+	static List<String> readList(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> list = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(in.readUTF());
+		}
+		return list;
+	}
+
+	static void writeList(DataOutputStream out, List<String> list) throws IOException {
+		out.writeInt(list.size());
+		for (String s : list) {
+			out.writeUTF(s);
+		}
+	}
+
+	/**
+	 * Cached flags of one package and the fingerprint of the
+	 * files and directories they depend on.
+	 *
+	 */
+	static class Entry {
+
+		final List<String> searchPath;
+		final PkgConfigFlags flags;
+		final Fingerprint fingerprint;
+
+		Entry(List<String> searchPath, PkgConfigFlags flags, Fingerprint fingerprint) {
+			this.searchPath = searchPath;
+			this.flags = flags;
+			this.fingerprint = fingerprint;
+		}
+
+		static Entry read(DataInputStream in) throws IOException {
+			List<String> searchPath = readList(in);
+			PkgConfigFlags flags = new PkgConfigFlags(readList(in), readList(in),
+					readList(in), readList(in), readList(in), readList(in));
+			return new Entry(searchPath, flags, Fingerprint.read(in));
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			writeList(out, this.searchPath);
+			writeList(out, this.flags.getIncludePaths());
+			writeList(out, this.flags.getDefines());
+			writeList(out, this.flags.getOtherCflags());
+			writeList(out, this.flags.getLibPaths());
+			writeList(out, this.flags.getLibFiles());
+			writeList(out, this.flags.getOtherLibFlags());
+			this.fingerprint.write(out);
+		}
+	}
+
+}
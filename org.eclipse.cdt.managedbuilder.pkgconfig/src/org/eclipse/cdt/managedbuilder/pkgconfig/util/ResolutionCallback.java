@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+/**
+ * Receives the result of an asynchronous resolution.
+ *
+ * @param <T> Type of the result.
+ */
+public interface ResolutionCallback<T> {
+
+	/**
+	 * Called in a background thread when the resolution has finished.
+	 * Not called if the resolution was cancelled.
+	 *
+	 * @param result Result or null if the resolution failed.
+	 */
+	void resolved(T result);
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Eclipse CDT pkg-config support contributors - Initial implementation
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.pkgconfig.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.pkgconfig.Activator;
+import org.eclipse.cdt.managedbuilder.pkgconfig.preferences.PreferenceStore;
+
+/**
+ * Bounded thread pool that resolves packages concurrently.
+ * The number of threads follows the concurrency limit preference.
+ *
+ */
+public class ResolutionExecutor {
+
+	//idle threads are released after this many seconds
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private static ThreadPoolExecutor executor;
+
+	/**
+	 * Get the shared executor sized by the current preference.
+	 *
+	 * @return Executor.
+	 */
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		int threads = PreferenceStore.getMaxConcurrentResolutions();
+		if (executor == null || executor.isShutdown()) {
+			executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+					new DaemonThreadFactory("pkg-config resolver")); //$NON-NLS-1$
+			executor.allowCoreThreadTimeOut(true);
+		} else if (executor.getMaximumPoolSize() != threads) {
+			//grow or shrink in an order that keeps core size <= maximum size
+			if (threads > executor.getMaximumPoolSize()) {
+				executor.setMaximumPoolSize(threads);
+				executor.setCorePoolSize(threads);
+			} else {
+				executor.setCorePoolSize(threads);
+				executor.setMaximumPoolSize(threads);
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Run the tasks concurrently and wait for all of them to complete.
+	 * A single task is run in the calling thread.
+	 *
+	 * @param tasks
+	 * @return Results in the same order as the tasks. A task that failed
+	 * or was interrupted has a null result.
+	 */
+	public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (tasks.isEmpty()) {
+			return results;
+		}
+		if (tasks.size() == 1) {
+			try {
+				results.add(tasks.get(0).call());
+			} catch (Exception e) {
+				Activator.getDefault().log(e, "Resolving a package failed."); //$NON-NLS-1$
+				results.add(null);
+			}
+			return results;
+		}
+		List<Future<T>> futures;
+		try {
+			futures = getExecutor().invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			for (int i = 0; i < tasks.size(); i++) {
+				results.add(null);
+			}
+			return results;
+		}
+		//futures are in the order of the tasks which keeps the merge deterministic
+		for (Future<T> future : futures) {
+			T result = null;
+			try {
+				result = future.get();
+			} catch (ExecutionException e) {
+				Activator.getDefault().log(e, "Resolving a package failed."); //$NON-NLS-1$
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			results.add(result);
+		}
+		return results;
+	}
+
+	/**
+	 * Stop the threads. Called when the plug-in stops.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+}
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.pkgconfig.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Provides different separators such as file and path separators.
  * 
@@ -37,4 +40,30 @@ public class Separators {
 		return fileSeparator;
 	}
 	
+	/**
+	 * Adds one or more paths to the list of paths.
+	 * 
+	 * @param existingPaths Existing list of paths to add to
+	 * @param newPath New path to add. May include multiple directories with a path separator.
+	 * @return String[] List that includes existing paths as well as new paths.
+	 */
+	public static String[] appendPaths(String[] existingPaths, String newPath) {
+		List<String> newPathList = new ArrayList<String>();
+		String path;
+		//adds existing paths to new paths list
+		for (int i = 0; i < existingPaths.length; i++) {
+			path = existingPaths[i];
+			newPathList.add(path);
+		}
+		//separates new path if it has multiple paths separated by a path separator
+		String[] newPathArray = newPath.split(pathSeparator);
+		for (int i = 0; i < newPathArray.length; i++) {
+			path = newPathArray[i];
+			newPathList.add(path);
+		}
+		//creates a new list that includes all existing paths as well as new paths
+		String[] newArray = newPathList.toArray(new String[0]);
+		return newArray;
+	}
+
 }